@@ -16,11 +16,66 @@
 
 package com.swisscom.openapi.reverseproxy;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.env.Environment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swisscom.openapi.reverseproxy.config.ProxyServers;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiProvider;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiSpecificationCache;
+import com.swisscom.openapi.reverseproxy.util.VirtualThreads;
+
+import io.swagger.v3.oas.models.OpenAPI;
 
 @ComponentScan
 @AutoConfiguration
 public class BootConfiguration {
 
+	@ConditionalOnMissingBean(ProxyServers.class)
+	@Bean
+	public ProxyServers proxyServers() {
+		return new ProxyServers(List.of());
+	}
+
+	@ConditionalOnMissingBean(name = "proxyTaskExecutor")
+	@Bean
+	public ExecutorService proxyTaskExecutor(Environment environment) {
+		return VirtualThreads.newTaskExecutor("proxy-task-",
+				environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+				environment.getProperty("proxy.task-executor.max-threads", Integer.class,
+						VirtualThreads.DEFAULT_MAX_THREADS),
+				environment.getProperty("proxy.task-executor.queue-capacity", Integer.class,
+						VirtualThreads.DEFAULT_QUEUE_CAPACITY));
+	}
+
+	@ConditionalOnMissingBean(name = "proxyObjectMapper")
+	@Bean
+	public ObjectMapper proxyObjectMapper() {
+		return new ObjectMapper();
+	}
+
+	@ConditionalOnMissingBean(OpenApiSpecificationCache.class)
+	@Bean
+	public OpenApiSpecificationCache proxySpecificationCache(Environment environment) {
+		return new OpenApiSpecificationCache(
+				Optional.ofNullable(environment.getProperty("proxy.specification-cache.directory"))
+					.filter((directory) -> !directory.isBlank())
+					.map(Path::of)
+					.orElse(null));
+	}
+
+	@ConditionalOnMissingBean({ OpenAPI.class, OpenApiProvider.class })
+	@Bean
+	public OpenAPI proxyOpenApi() {
+		return new OpenAPI();
+	}
+
 }
@@ -22,6 +22,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import com.swisscom.openapi.reverseproxy.balancer.LoadBalancingStrategy;
+
 /**
  *
  * The reverse-proxy definition annotation. When {@code Proxy} annotated classes or
@@ -47,6 +49,156 @@ public @interface Proxy {
 
 		String[] ignoredResponseHeaders() default {};
 
+		ConnectionPool connectionPool() default @ConnectionPool;
+
+		boolean streaming() default false;
+
+		boolean async() default false;
+
+		boolean fastLane() default false;
+
+		boolean lazy() default false;
+
+		boolean rawPassThrough() default false;
+
+		String reloadInterval() default "";
+
+		RequestBuffer requestBuffer() default @RequestBuffer;
+
+		Retry retry() default @Retry;
+
+		CircuitBreaker circuitBreaker() default @CircuitBreaker;
+
+		LoadBalancer loadBalancer() default @LoadBalancer;
+
+		HealthCheck healthCheck() default @HealthCheck;
+
+		OutlierDetection outlierDetection() default @OutlierDetection;
+
+		ResponseCache responseCache() default @ResponseCache;
+
+	}
+
+	@interface ResponseCache {
+
+		String maxSize() default "64MB";
+
+		String maxEntrySize() default "1MB";
+
+	}
+
+	@interface HealthCheck {
+
+		String path() default "";
+
+		String interval() default "10s";
+
+		String timeout() default "2s";
+
+		int unhealthyThreshold() default 3;
+
+		int healthyThreshold() default 2;
+
+	}
+
+	@interface OutlierDetection {
+
+		boolean enabled() default false;
+
+		int consecutiveFailures() default 5;
+
+		double latencyFactor() default 3.0;
+
+		String baseEjectionTime() default "30s";
+
+		String maxEjectionTime() default "5m";
+
+		int maxEjectionPercent() default 50;
+
+	}
+
+	@interface LoadBalancer {
+
+		LoadBalancingStrategy strategy() default LoadBalancingStrategy.FIRST;
+
+		String[] targets() default {};
+
+		String hashKey() default "";
+
+	}
+
+	@interface CircuitBreaker {
+
+		boolean enabled() default false;
+
+		int slidingWindowSize() default 100;
+
+		int minimumCalls() default 20;
+
+		float failureRateThreshold() default 50;
+
+		String slowCallDuration() default "5s";
+
+		float slowCallRateThreshold() default 100;
+
+		String openDuration() default "30s";
+
+		int halfOpenCalls() default 5;
+
+	}
+
+	@interface Retry {
+
+		boolean enabled() default false;
+
+		int maxAttempts() default 3;
+
+		String initialBackoff() default "100ms";
+
+		String maxBackoff() default "2s";
+
+		double multiplier() default 2.0;
+
+		double jitter() default 0.5;
+
+		boolean retryOnConnectFailure() default true;
+
+		int[] retryStatuses() default { 502, 503, 504 };
+
+		double budgetRatio() default 0.2;
+
+		int budgetMinRetriesPerSecond() default 10;
+
+	}
+
+	@interface RequestBuffer {
+
+		String chunkSize() default "64KB";
+
+		String memoryThreshold() default "1MB";
+
+		String maxSize() default "64MB";
+
+		String poolSize() default "16MB";
+
+	}
+
+	@interface ConnectionPool {
+
+		int maxTotal() default 200;
+
+		int maxPerRoute() default 50;
+
+		String connectTimeout() default "5s";
+
+		String readTimeout() default "30s";
+
+		String connectionRequestTimeout() default "5s";
+
+		String idleTimeout() default "30s";
+
+		String timeToLive() default "";
+
 	}
 
 	Options options() default @Options;
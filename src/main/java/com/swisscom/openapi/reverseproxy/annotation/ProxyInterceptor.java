@@ -33,4 +33,28 @@ public @interface ProxyInterceptor {
 
 	RequestMethod[] method() default {};
 
+	Cache[] cache() default {};
+
+	Coalesce[] coalesce() default {};
+
+	@interface Cache {
+
+		boolean enabled() default true;
+
+		String ttl() default "";
+
+		String staleWhileRevalidate() default "";
+
+		String staleIfError() default "";
+
+	}
+
+	@interface Coalesce {
+
+		boolean enabled() default true;
+
+		String[] keyHeaders() default {};
+
+	}
+
 }
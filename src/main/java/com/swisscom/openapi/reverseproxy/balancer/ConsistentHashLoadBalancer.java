@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public class ConsistentHashLoadBalancer extends LoadBalancer {
+
+	private static final int VIRTUAL_NODES = 160;
+
+	private final String hashKey;
+
+	private final TreeMap<Long, UpstreamInstance> ring = new TreeMap<>();
+
+	public ConsistentHashLoadBalancer(List<UpstreamInstance> instances, String hashKey) {
+		super(instances);
+		this.hashKey = hashKey;
+		instances.forEach((instance) -> {
+			for (var i = 0; i < VIRTUAL_NODES; i++) {
+				this.ring.put(hash(instance.getUrl() + "#" + i), instance);
+			}
+		});
+	}
+
+	@Override
+	protected UpstreamInstance choose(List<UpstreamInstance> candidates, HttpServletRequest request) {
+		var hash = hash(requestKey(request));
+		return Stream.concat(this.ring.tailMap(hash).values().stream(), this.ring.headMap(hash).values().stream())
+			.filter(candidates::contains)
+			.findFirst()
+			.orElseGet(() -> candidates.get(0));
+	}
+
+	protected String requestKey(HttpServletRequest request) {
+		if (request == null) {
+			return "";
+		}
+		return Optional.ofNullable(this.hashKey)
+			.filter((key) -> !key.isBlank())
+			.map((key) -> request.getHeader(key))
+			.orElseGet(() -> Optional.ofNullable(request.getQueryString())
+				.map((qs) -> request.getRequestURI().concat("?").concat(qs))
+				.orElseGet(() -> request.getRequestURI()));
+	}
+
+	private static long hash(String key) {
+		// 64 bit FNV-1a followed by a murmur3 finalizer for a better spread on the ring
+		var hash = 0xcbf29ce484222325L;
+		for (var i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		return hash ^ (hash >>> 33);
+	}
+
+}
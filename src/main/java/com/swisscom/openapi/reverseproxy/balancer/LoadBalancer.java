@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.web.client.RestOperations;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
+
+public abstract class LoadBalancer {
+
+	@Getter
+	private final List<UpstreamInstance> instances;
+
+	@Getter
+	@Setter
+	private OutlierDetector outlierDetector;
+
+	protected LoadBalancer(List<UpstreamInstance> instances) {
+		if (instances.isEmpty()) {
+			throw new IllegalArgumentException("No upstream instance to balance");
+		}
+		this.instances = List.copyOf(instances);
+	}
+
+	public <T> T call(HttpServletRequest request, Function<RestOperations, T> call) {
+		var instance = choose(request);
+		if (this.outlierDetector == null) {
+			return instance.call(call);
+		}
+		var start = System.nanoTime();
+		try {
+			var result = instance.call(call);
+			this.outlierDetector.onSuccess(instance, System.nanoTime() - start, this.instances);
+			return result;
+		}
+		catch (RuntimeException ex) {
+			this.outlierDetector.onFailure(instance, ex, this.instances);
+			throw ex;
+		}
+	}
+
+	public UpstreamInstance choose(HttpServletRequest request) {
+		if (this.instances.size() == 1) {
+			return this.instances.get(0);
+		}
+		var available = this.instances.stream().filter((instance) -> instance.isAvailable()).toList();
+		// no instance left: route to all of them rather than failing every request
+		return choose(available.isEmpty() ? this.instances : available, request);
+	}
+
+	protected abstract UpstreamInstance choose(List<UpstreamInstance> candidates, HttpServletRequest request);
+
+}
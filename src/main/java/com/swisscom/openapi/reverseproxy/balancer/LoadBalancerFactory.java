@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+
+import com.swisscom.openapi.reverseproxy.config.LoadBalancerOptions;
+
+@ConditionalOnMissingBean(value = LoadBalancerFactory.class, ignored = LoadBalancerFactory.class)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Component
+public class LoadBalancerFactory {
+
+	public LoadBalancer getLoadBalancer(LoadBalancerOptions options, List<UpstreamInstance> instances) {
+		return switch (options.strategy()) {
+			case ROUND_ROBIN -> new RoundRobinLoadBalancer(instances);
+			case LEAST_OUTSTANDING -> new LeastOutstandingLoadBalancer(instances);
+			case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesLoadBalancer(instances);
+			case CONSISTENT_HASH -> new ConsistentHashLoadBalancer(instances, options.hashKey());
+			default -> new FirstInstanceLoadBalancer(instances);
+		};
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.swisscom.openapi.reverseproxy.config.OutlierDetectionOptions;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OutlierDetector {
+
+	private static final double LATENCY_WEIGHT = 0.2;
+
+	private static final int LATENCY_MIN_INSTANCES = 3;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	@Getter
+	private final OutlierDetectionOptions options;
+
+	public void onSuccess(UpstreamInstance instance, long latencyNanos, List<UpstreamInstance> instances) {
+		instance.consecutiveFailures.set(0);
+		var average = instance.latencyAverage;
+		instance.latencyAverage = (average == 0) ? latencyNanos : average + LATENCY_WEIGHT * (latencyNanos - average);
+		if (instance.ejections > 0
+				&& System.nanoTime() - instance.lastEjection > this.options.maxEjectionTime().toNanos()) {
+			instance.ejections = 0;
+		}
+		if (this.options.latencyFactor() > 0 && instances.size() >= LATENCY_MIN_INSTANCES) {
+			var median = instances.stream()
+				.filter((peer) -> peer != instance && peer.latencyAverage > 0)
+				.mapToDouble((peer) -> peer.latencyAverage)
+				.sorted()
+				.toArray();
+			if (median.length >= LATENCY_MIN_INSTANCES - 1
+					&& instance.latencyAverage > this.options.latencyFactor() * median[median.length / 2]) {
+				// restart from the peers' latency so that the instance is not ejected
+				// again on return
+				instance.latencyAverage = median[median.length / 2];
+				eject(instance, instances);
+			}
+		}
+	}
+
+	public void onFailure(UpstreamInstance instance, RuntimeException ex, List<UpstreamInstance> instances) {
+		if (isFailure(ex) && instance.consecutiveFailures.incrementAndGet() >= this.options.consecutiveFailures()) {
+			instance.consecutiveFailures.set(0);
+			eject(instance, instances);
+		}
+	}
+
+	protected boolean isFailure(RuntimeException ex) {
+		return (ex instanceof RestClientResponseException)
+				? ((RestClientResponseException) ex).getStatusCode().is5xxServerError()
+				: ex instanceof ResourceAccessException;
+	}
+
+	protected void eject(UpstreamInstance instance, List<UpstreamInstance> instances) {
+		this.lock.lock();
+		try {
+			var ejected = instances.stream().filter((peer) -> peer.isEjected()).count();
+			if (instance.isEjected()
+					|| (ejected + 1) * 100 > (long) this.options.maxEjectionPercent() * instances.size()) {
+				return;
+			}
+			var ejectionTime = Math.min(this.options.maxEjectionTime().toNanos(),
+					this.options.baseEjectionTime().toNanos() << Math.min(instance.ejections, 20));
+			var now = System.nanoTime();
+			instance.lastEjection = now;
+			instance.ejectedUntil = now + ejectionTime;
+			instance.ejections++;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+}
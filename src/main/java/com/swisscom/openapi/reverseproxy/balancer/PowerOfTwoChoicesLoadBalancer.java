@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public class PowerOfTwoChoicesLoadBalancer extends LoadBalancer {
+
+	public PowerOfTwoChoicesLoadBalancer(List<UpstreamInstance> instances) {
+		super(instances);
+	}
+
+	@Override
+	protected UpstreamInstance choose(List<UpstreamInstance> candidates, HttpServletRequest request) {
+		if (candidates.size() == 1) {
+			return candidates.get(0);
+		}
+		var random = ThreadLocalRandom.current();
+		var first = random.nextInt(candidates.size());
+		var second = (first + 1 + random.nextInt(candidates.size() - 1)) % candidates.size();
+		var a = candidates.get(first);
+		var b = candidates.get(second);
+		return (b.getOutstandingRequests() < a.getOutstandingRequests()) ? b : a;
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+
+import com.swisscom.openapi.reverseproxy.config.HealthCheckOptions;
+import com.swisscom.openapi.reverseproxy.util.VirtualThreads;
+
+import lombok.Getter;
+
+@ConditionalOnMissingBean(value = UpstreamHealthChecker.class, ignored = UpstreamHealthChecker.class)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Component
+public class UpstreamHealthChecker implements DisposableBean {
+
+	private final ScheduledExecutorService scheduler = Executors
+		.newSingleThreadScheduledExecutor(VirtualThreads.threadFactory("proxy-health-check-", false));
+
+	private final Executor probeExecutor;
+
+	private final Set<UpstreamInstance> probing = ConcurrentHashMap.newKeySet();
+
+	private final HttpClient httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+
+	@Getter
+	private final List<LoadBalancer> loadBalancers = new CopyOnWriteArrayList<>();
+
+	private final Map<LoadBalancer, List<ScheduledFuture<?>>> probes = new ConcurrentHashMap<>();
+
+	public UpstreamHealthChecker(@Qualifier("proxyTaskExecutor") Executor probeExecutor) {
+		this.probeExecutor = probeExecutor;
+	}
+
+	public void register(LoadBalancer loadBalancer, HealthCheckOptions options) {
+		if (options.path() == null || options.path().isBlank()) {
+			return;
+		}
+		this.loadBalancers.add(loadBalancer);
+		this.probes.put(loadBalancer,
+				loadBalancer.getInstances()
+					.stream()
+					.<ScheduledFuture<?>>map((instance) -> this.scheduler.scheduleWithFixedDelay(
+							() -> schedule(instance, options), 0, options.interval().toMillis(), TimeUnit.MILLISECONDS))
+					.toList());
+	}
+
+	public void unregister(LoadBalancer loadBalancer) {
+		this.loadBalancers.remove(loadBalancer);
+		Optional.ofNullable(this.probes.remove(loadBalancer))
+			.ifPresent((futures) -> futures.forEach((future) -> future.cancel(false)));
+	}
+
+	protected void schedule(UpstreamInstance instance, HealthCheckOptions options) {
+		if (this.probing.add(instance)) {
+			try {
+				this.probeExecutor.execute(() -> {
+					try {
+						probe(instance, options);
+					}
+					finally {
+						this.probing.remove(instance);
+					}
+				});
+			}
+			catch (RuntimeException ex) {
+				this.probing.remove(instance);
+			}
+		}
+	}
+
+	protected void probe(UpstreamInstance instance, HealthCheckOptions options) {
+		// probes of an instance never overlap, the streak is only touched here
+		var success = isHealthy(instance, options);
+		instance.healthCheckStreak = (success == instance.healthy) ? 0 : instance.healthCheckStreak + 1;
+		if (instance.healthCheckStreak >= (success ? options.healthyThreshold() : options.unhealthyThreshold())) {
+			instance.healthy = success;
+			instance.healthCheckStreak = 0;
+		}
+	}
+
+	protected boolean isHealthy(UpstreamInstance instance, HealthCheckOptions options) {
+		try {
+			var request = HttpRequest.newBuilder(URI.create(instance.getUrl()
+				.replaceAll("/+$", "")
+				.concat(options.path().startsWith("/") ? "" : "/")
+				.concat(options.path()))).GET();
+			Optional.ofNullable(options.timeout()).ifPresent(request::timeout);
+			var status = this.httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+			return status >= 200 && status < 300;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		catch (Exception ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.web.client.RestOperations;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class UpstreamInstance {
+
+	@Getter
+	private final String url;
+
+	@Getter
+	private final RestOperations restOperations;
+
+	private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+	final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	@Getter
+	volatile boolean healthy = true;
+
+	int healthCheckStreak;
+
+	volatile long ejectedUntil;
+
+	volatile long lastEjection;
+
+	@Getter
+	volatile int ejections;
+
+	volatile double latencyAverage;
+
+	public <T> T call(Function<RestOperations, T> call) {
+		this.outstandingRequests.incrementAndGet();
+		try {
+			return call.apply(this.restOperations);
+		}
+		finally {
+			this.outstandingRequests.decrementAndGet();
+		}
+	}
+
+	public int getOutstandingRequests() {
+		return this.outstandingRequests.get();
+	}
+
+	public boolean isEjected() {
+		return this.ejections > 0 && this.ejectedUntil - System.nanoTime() > 0;
+	}
+
+	public boolean isAvailable() {
+		return this.healthy && !isEjected();
+	}
+
+	@Override
+	public String toString() {
+		return this.url;
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import com.swisscom.openapi.reverseproxy.annotation.ProxyInterceptor;
+
+import io.swagger.v3.oas.models.Operation;
+
+public record CachePolicy(boolean enabled, Duration ttl, Duration staleWhileRevalidate, Duration staleIfError) {
+
+	public static final String CACHE_EXTENSION = "x-proxy-cache";
+
+	public static final CachePolicy DISABLED = new CachePolicy(false, null, null, null);
+
+	public static CachePolicy of(ProxyInterceptor.Cache cache) {
+		return new CachePolicy(cache.enabled(), parseDuration(cache.ttl()), parseDuration(cache.staleWhileRevalidate()),
+				parseDuration(cache.staleIfError()));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static CachePolicy forOperation(Operation operation) {
+		var extension = Optional.ofNullable(operation)
+			.map((op) -> op.getExtensions())
+			.map((extensions) -> extensions.get(CACHE_EXTENSION))
+			.orElse(null);
+		if (extension instanceof Boolean) {
+			return new CachePolicy((Boolean) extension, null, null, null);
+		}
+		if (extension instanceof Map) {
+			var cache = (Map<String, Object>) extension;
+			return new CachePolicy(
+					Optional.ofNullable(cache.get("enabled"))
+						.map((value) -> Boolean.valueOf(value.toString()))
+						.orElse(true),
+					parseDuration(cache.get("ttl")), parseDuration(cache.get("staleWhileRevalidate")),
+					parseDuration(cache.get("staleIfError")));
+		}
+		return DISABLED;
+	}
+
+	private static Duration parseDuration(Object value) {
+		return Optional.ofNullable(value)
+			.map((v) -> v.toString().trim())
+			.filter((v) -> !v.isEmpty())
+			.map((v) -> DurationStyle.detectAndParse(v))
+			.orElse(null);
+	}
+
+}
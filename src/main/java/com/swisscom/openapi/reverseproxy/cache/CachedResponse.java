@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CachedResponse {
+
+	// error statuses never get here: the rest template raises them before buffering
+	private static final Set<Integer> CACHEABLE_STATUSES = Set.of(200, 203, 204, 300, 301, 308);
+
+	private static final Set<String> NOT_MODIFIED_IGNORED_HEADERS = Set.of(HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+			HttpHeaders.CONTENT_ENCODING.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase());
+
+	private final HttpStatusCode statusCode;
+
+	private final HttpHeaders headers;
+
+	private final byte[] body;
+
+	private final long responseTime;
+
+	private final long freshUntil;
+
+	private final long staleWhileRevalidateUntil;
+
+	private final long staleIfErrorUntil;
+
+	private final boolean noCache;
+
+	public static CachedResponse of(HttpStatusCode statusCode, HttpHeaders headers, byte[] body, CachePolicy policy,
+			boolean authorized, long now) {
+		var directives = parseCacheControl(headers.getCacheControl());
+		if (headers.getCacheControl() == null && Optional.ofNullable(headers.getPragma())
+			.filter((pragma) -> pragma.toLowerCase(Locale.ROOT).contains("no-cache"))
+			.isPresent()) {
+			directives.put("no-cache", "");
+		}
+		if (directives.containsKey("no-store") || directives.containsKey("private") || headers.getVary().contains("*")
+				|| headers.containsKey(HttpHeaders.SET_COOKIE)) {
+			return null;
+		}
+		// RFC 7234 section 3.2: a shared cache only stores authorized responses
+		// explicitly marked as shareable
+		if (authorized && !directives.containsKey("public") && !directives.containsKey("s-maxage")
+				&& !directives.containsKey("must-revalidate")) {
+			return null;
+		}
+		var lifetime = freshnessLifetime(headers, directives, policy);
+		var explicit = directives.containsKey("s-maxage") || directives.containsKey("max-age")
+				|| headers.getExpires() >= 0;
+		var validated = headers.getETag() != null || headers.getLastModified() >= 0;
+		if (statusCode.value() == HttpStatus.NOT_MODIFIED.value()
+				|| (!CACHEABLE_STATUSES.contains(statusCode.value()) && !explicit)) {
+			return null;
+		}
+		if (lifetime.isZero() && !validated) {
+			return null;
+		}
+		var age = Optional.ofNullable(headers.getFirst(HttpHeaders.AGE))
+			.map((value) -> parseSeconds(value.trim()).toMillis())
+			.orElse(0L);
+		var freshUntil = now + lifetime.toMillis() - age;
+		var mustRevalidate = directives.containsKey("must-revalidate") || directives.containsKey("proxy-revalidate")
+				|| directives.containsKey("no-cache");
+		var staleWhileRevalidate = mustRevalidate ? Duration.ZERO
+				: directiveDuration(directives, "stale-while-revalidate", policy.staleWhileRevalidate());
+		var staleIfError = mustRevalidate ? Duration.ZERO
+				: directiveDuration(directives, "stale-if-error", policy.staleIfError());
+		return new CachedResponse(statusCode, HttpHeaders.readOnlyHttpHeaders(headers), body, now - age, freshUntil,
+				freshUntil + staleWhileRevalidate.toMillis(), freshUntil + staleIfError.toMillis(),
+				directives.containsKey("no-cache"));
+	}
+
+	public CachedResponse revalidated(HttpHeaders notModifiedHeaders, CachePolicy policy, boolean authorized,
+			long now) {
+		var headers = new HttpHeaders();
+		headers.addAll(this.headers);
+		notModifiedHeaders.forEach((name, values) -> {
+			if (!NOT_MODIFIED_IGNORED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+				headers.put(name, values);
+			}
+		});
+		return of(this.statusCode, headers, this.body, policy, authorized, now);
+	}
+
+	public boolean isFresh(long now) {
+		// no-cache: every hit goes through a conditional revalidation
+		return !this.noCache && now < this.freshUntil;
+	}
+
+	public boolean isStaleWhileRevalidate(long now) {
+		return now < this.staleWhileRevalidateUntil;
+	}
+
+	public boolean isStaleIfError(long now) {
+		return now < this.staleIfErrorUntil;
+	}
+
+	public HttpHeaders getHeaders(long now) {
+		var headers = new HttpHeaders();
+		headers.addAll(this.headers);
+		headers.set(HttpHeaders.AGE, String.valueOf(Math.max(0, (now - this.responseTime) / 1000)));
+		return headers;
+	}
+
+	public int size() {
+		return this.body.length + this.headers.entrySet()
+			.stream()
+			.mapToInt((e) -> e.getKey().length() + e.getValue().stream().mapToInt(String::length).sum())
+			.sum();
+	}
+
+	static Map<String, String> parseCacheControl(String cacheControl) {
+		var directives = new HashMap<String, String>();
+		if (cacheControl != null) {
+			for (var directive : cacheControl.split(",")) {
+				var parts = directive.split("=", 2);
+				var name = parts[0].trim().toLowerCase(Locale.ROOT);
+				if (!name.isEmpty()) {
+					directives.put(name, (parts.length > 1) ? parts[1].trim().replace("\"", "") : "");
+				}
+			}
+		}
+		return directives;
+	}
+
+	private static Duration freshnessLifetime(HttpHeaders headers, Map<String, String> directives, CachePolicy policy) {
+		if (directives.containsKey("no-cache")) {
+			return Duration.ZERO;
+		}
+		var maxAge = Optional.ofNullable(directives.get("s-maxage"))
+			.or(() -> Optional.ofNullable(directives.get("max-age")));
+		if (maxAge.isPresent()) {
+			return parseSeconds(maxAge.get());
+		}
+		if (headers.getExpires() >= 0) {
+			var date = (headers.getDate() >= 0) ? headers.getDate() : System.currentTimeMillis();
+			return Duration.ofMillis(Math.max(0, headers.getExpires() - date));
+		}
+		return Optional.ofNullable(policy.ttl()).orElse(Duration.ZERO);
+	}
+
+	private static Duration directiveDuration(Map<String, String> directives, String name, Duration defaultValue) {
+		return Optional.ofNullable(directives.get(name))
+			.map(CachedResponse::parseSeconds)
+			.or(() -> Optional.ofNullable(defaultValue))
+			.orElse(Duration.ZERO);
+	}
+
+	private static Duration parseSeconds(String value) {
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+		}
+		catch (NumberFormatException ex) {
+			return Duration.ZERO;
+		}
+	}
+
+}
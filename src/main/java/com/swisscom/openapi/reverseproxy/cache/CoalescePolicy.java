@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+
+import com.swisscom.openapi.reverseproxy.annotation.ProxyInterceptor;
+
+import io.swagger.v3.oas.models.Operation;
+
+public record CoalescePolicy(boolean enabled, List<String> keyHeaders) {
+
+	public static final String COALESCE_EXTENSION = "x-proxy-coalesce";
+
+	public static final List<String> DEFAULT_KEY_HEADERS = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING,
+			HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+	public static final CoalescePolicy DISABLED = new CoalescePolicy(false, DEFAULT_KEY_HEADERS);
+
+	public static CoalescePolicy of(ProxyInterceptor.Coalesce coalesce) {
+		return new CoalescePolicy(coalesce.enabled(),
+				(coalesce.keyHeaders().length > 0) ? Arrays.asList(coalesce.keyHeaders()) : DEFAULT_KEY_HEADERS);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static CoalescePolicy forOperation(Operation operation) {
+		var extension = Optional.ofNullable(operation)
+			.map((op) -> op.getExtensions())
+			.map((extensions) -> extensions.get(COALESCE_EXTENSION))
+			.orElse(null);
+		if (extension instanceof Boolean) {
+			return new CoalescePolicy((Boolean) extension, DEFAULT_KEY_HEADERS);
+		}
+		if (extension instanceof Map) {
+			var coalesce = (Map<String, Object>) extension;
+			return new CoalescePolicy(
+					Optional.ofNullable(coalesce.get("enabled"))
+						.map((value) -> Boolean.valueOf(value.toString()))
+						.orElse(true),
+					Optional.ofNullable((List<Object>) coalesce.get("keyHeaders"))
+						.map((headers) -> headers.stream().map(Object::toString).toList())
+						.orElse(DEFAULT_KEY_HEADERS));
+		}
+		return DISABLED;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+
+public class RequestCoalescer {
+
+	private final Map<String, CompletableFuture<CachedClientHttpResponse>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder leaders = new LongAdder();
+
+	private final LongAdder followers = new LongAdder();
+
+	public CachedClientHttpResponse execute(String key, Supplier<CachedClientHttpResponse> exchange) {
+		var future = new CompletableFuture<CachedClientHttpResponse>();
+		var leader = this.inFlight.putIfAbsent(key, future);
+		if (leader != null) {
+			this.followers.increment();
+			try {
+				return copy(leader.join());
+			}
+			catch (CompletionException ex) {
+				throw (ex.getCause() instanceof RuntimeException) ? (RuntimeException) ex.getCause() : ex;
+			}
+		}
+		this.leaders.increment();
+		try {
+			var response = exchange.get();
+			future.complete(response);
+			return copy(response);
+		}
+		catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	public long getLeaders() {
+		return this.leaders.sum();
+	}
+
+	public long getFollowers() {
+		return this.followers.sum();
+	}
+
+	private static CachedClientHttpResponse copy(CachedClientHttpResponse response) {
+		var headers = new HttpHeaders();
+		headers.addAll(response.getHeaders());
+		return new CachedClientHttpResponse(response.getStatusCode(), headers, response.getBodyAsByteArray().clone());
+	}
+
+}
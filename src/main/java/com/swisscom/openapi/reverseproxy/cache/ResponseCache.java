@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.http.HttpHeaders;
+
+import com.swisscom.openapi.reverseproxy.config.ResponseCacheOptions;
+
+public class ResponseCache {
+
+	private static final List<String> CREDENTIAL_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Map<String, List<String>> varies = new ConcurrentHashMap<>();
+
+	private final Set<String> revalidations = ConcurrentHashMap.newKeySet();
+
+	private final Executor revalidationExecutor;
+
+	private final long maxSize;
+
+	private final long maxEntrySize;
+
+	private long size;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	public ResponseCache(ResponseCacheOptions options, Executor revalidationExecutor) {
+		this.maxSize = options.maxSize().toBytes();
+		this.maxEntrySize = options.maxEntrySize().toBytes();
+		this.revalidationExecutor = revalidationExecutor;
+	}
+
+	public CachedResponse get(String key, HttpHeaders requestHeaders) {
+		var variantKey = variantKey(key, requestHeaders);
+		CachedResponse response;
+		this.lock.lock();
+		try {
+			response = this.entries.get(variantKey);
+		}
+		finally {
+			this.lock.unlock();
+		}
+		((response != null) ? this.hits : this.misses).increment();
+		return response;
+	}
+
+	public void put(String key, HttpHeaders requestHeaders, CachedResponse response) {
+		var entrySize = response.size();
+		if (entrySize > this.maxEntrySize || entrySize > this.maxSize) {
+			return;
+		}
+		var vary = response.getHeaders()
+			.getVary()
+			.stream()
+			.map((name) -> name.trim().toLowerCase(Locale.ROOT))
+			.sorted()
+			.toList();
+		if (!vary.equals(this.varies.put(key, vary))) {
+			remove(key);
+		}
+		var variantKey = variantKey(key, requestHeaders);
+		this.lock.lock();
+		try {
+			Optional.ofNullable(this.entries.put(variantKey, response))
+				.ifPresent((previous) -> this.size -= previous.size());
+			this.size += entrySize;
+			var iterator = this.entries.entrySet().iterator();
+			while (this.size > this.maxSize && iterator.hasNext()) {
+				var eldest = iterator.next();
+				if (eldest.getValue() != response) {
+					this.size -= eldest.getValue().size();
+					iterator.remove();
+					this.evictions.increment();
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	public void remove(String key) {
+		this.lock.lock();
+		try {
+			var iterator = this.entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+				if (entry.getKey().equals(key) || entry.getKey().startsWith(key.concat("\n"))) {
+					this.size -= entry.getValue().size();
+					iterator.remove();
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	public void revalidate(String key, HttpHeaders requestHeaders, Runnable revalidation) {
+		var variantKey = variantKey(key, requestHeaders);
+		if (this.revalidations.add(variantKey)) {
+			try {
+				this.revalidationExecutor.execute(() -> {
+					try {
+						revalidation.run();
+					}
+					catch (RuntimeException ex) {
+						// the stale entry keeps being served until it expires
+					}
+					finally {
+						this.revalidations.remove(variantKey);
+					}
+				});
+			}
+			catch (RuntimeException ex) {
+				this.revalidations.remove(variantKey);
+			}
+		}
+	}
+
+	public long getSize() {
+		this.lock.lock();
+		try {
+			return this.size;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+
+	public static boolean isAuthorized(HttpHeaders requestHeaders) {
+		return CREDENTIAL_HEADERS.stream().anyMatch(requestHeaders::containsKey);
+	}
+
+	protected String variantKey(String key, HttpHeaders requestHeaders) {
+		var vary = this.varies.getOrDefault(key, List.of());
+		var authorized = isAuthorized(requestHeaders);
+		if (vary.isEmpty() && !authorized) {
+			return key;
+		}
+		var variantKey = new StringBuilder(key);
+		vary.forEach((name) -> variantKey.append('\n')
+			.append(name)
+			.append(':')
+			.append(String.join(",", Optional.ofNullable(requestHeaders.get(name)).orElse(List.of()))));
+		if (authorized) {
+			// even shareable responses are never served across credentials
+			variantKey.append("\ncredentials:").append(credentialsDigest(requestHeaders));
+		}
+		return variantKey.toString();
+	}
+
+	private static String credentialsDigest(HttpHeaders requestHeaders) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+			CREDENTIAL_HEADERS.forEach((name) -> Optional.ofNullable(requestHeaders.get(name))
+				.ifPresent((values) -> digest
+					.update(String.join("\n", name, String.join(",", values), "").getBytes(StandardCharsets.UTF_8))));
+			return HexFormat.of().formatHex(digest.digest());
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -17,16 +17,20 @@
 package com.swisscom.openapi.reverseproxy.client;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -35,58 +39,101 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.swisscom.openapi.reverseproxy.annotation.Proxy;
+import com.swisscom.openapi.reverseproxy.balancer.LoadBalancer;
+import com.swisscom.openapi.reverseproxy.cache.CachePolicy;
+import com.swisscom.openapi.reverseproxy.cache.CachedClientHttpResponse;
+import com.swisscom.openapi.reverseproxy.cache.CachedResponse;
+import com.swisscom.openapi.reverseproxy.cache.CoalescePolicy;
+import com.swisscom.openapi.reverseproxy.cache.RequestCoalescer;
+import com.swisscom.openapi.reverseproxy.cache.ResponseCache;
+import com.swisscom.openapi.reverseproxy.resilience.CallNotPermittedException;
+import com.swisscom.openapi.reverseproxy.resilience.CircuitBreaker;
+import com.swisscom.openapi.reverseproxy.resilience.Retrier;
+import com.swisscom.openapi.reverseproxy.resilience.RetryPolicy;
+import com.swisscom.openapi.reverseproxy.util.HeaderFilter;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 public class ProxyClient {
 
-	private static final String REQUEST_ENTITY_ATTR_NAME = Proxy.class.getName().concat("_REQUEST_ENTITY");
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
 
-	private static final String RESPONSE_ENTITY_ATTR_NAME = Proxy.class.getName().concat("_RESPONSE_ENTITY");
+	private static final FormHttpMessageConverter FORM_CONVERTER = new FormHttpMessageConverter();
 
-	private final boolean retryEnabled;
+	@Getter
+	private final RetryPolicy retryPolicy;
+
+	private final Retrier retrier;
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final ResponseCache responseCache;
+
+	private final RequestCoalescer requestCoalescer;
+
+	private final boolean streaming;
+
+	private final boolean fastLane;
+
+	private final boolean rawPassThrough;
+
+	@Getter
+	private final Executor asyncExecutor;
+
+	private final ReplayableBodyStore replayableBodyStore;
 
 	private final ObjectMapper objectMapper;
 
-	private final RestOperations restOperations;
+	@Getter
+	private final LoadBalancer loadBalancer;
+
+	private final String prefix;
 
-	private final Supplier<HttpServletRequest> requestSupplier;
+	private final HeaderFilter requestHeaderFilter;
 
-	private final List<String> ignoredRequestHeaders;
+	private final HeaderFilter responseHeaderFilter;
 
-	private final List<String> ignoredResponseHeaders;
+	private final ThreadLocal<ProxyExchange> exchange = new ThreadLocal<>();
 
 	public <T, Q> ProxyClient transformRequestEntity(Function<RequestEntity<T>, RequestEntity<Q>> transformer) {
-		requestEntity(transformer.apply(requestEntity(null, false)), this.retryEnabled);
+		requestEntity(transformer.apply(requestEntity(null, isRequestBodyReplayable())), isRequestBodyReplayable());
 		return this;
 	}
 
 	public ProxyClient transformRequestEntityHeaders(Consumer<HttpHeaders> transformer) {
-		var requestEntity = requestEntity(null, false);
-		requestEntity(
-				RequestEntity.method(requestEntity.getMethod(), buildRequestUri().toUriString()).headers((headers) -> {
-					headers.addAll(requestEntity.getHeaders());
-					transformer.accept(headers);
-				}).body(requestEntity.getBody()), this.retryEnabled);
+		var requestEntity = requestEntity(null, isRequestBodyReplayable());
+		requestEntity(requestEntityBuilder(requestEntity.getMethod(), buildRequestUri()).headers((headers) -> {
+			headers.addAll(requestEntity.getHeaders());
+			transformer.accept(headers);
+		}).body(requestEntity.getBody()), isRequestBodyReplayable());
 		return this;
 	}
 
@@ -99,14 +146,19 @@ public class ProxyClient {
 	}
 
 	public <T, Q> ProxyClient transformRequestEntityBody(Function<T, Q> transformer, Object requestBodyType) {
-		RequestEntity<Object> requestEntity = requestEntity(null, false);
+		RequestEntity<Object> requestEntity = requestEntity(null, isRequestBodyReplayable());
 		var requestBody = requestEntity.getBody();
+		if (requestBodyType == null && requestBody instanceof Resource && MediaType.APPLICATION_FORM_URLENCODED
+			.equalsTypeAndSubtype(requestEntity.getHeaders().getContentType())) {
+			// raw form bytes are only decoded once an interceptor asks for them
+			requestBody = readFormBody((Resource) requestBody, requestEntity.getHeaders().getContentType());
+		}
 		T convertedRequestBody = convertRequestBody(requestBody, requestBodyType);
 		Q transformedRequestBody = transformer.apply(convertedRequestBody);
-		if (requestBody != transformedRequestBody) {
-			requestEntity(RequestEntity.method(requestEntity.getMethod(), buildRequestUri().toUriString())
+		if (requestEntity.getBody() != transformedRequestBody) {
+			requestEntity(requestEntityBuilder(requestEntity.getMethod(), buildRequestUri())
 				.headers(requestEntity.getHeaders())
-				.body(transformedRequestBody), this.retryEnabled);
+				.body(transformedRequestBody), isRequestBodyReplayable());
 		}
 		return this;
 	}
@@ -139,6 +191,47 @@ public class ProxyClient {
 		return exchangeResponse(Resource.class);
 	}
 
+	public <T> ResponseEntity<T> exchange(HttpServletResponse response) {
+		if (!this.streaming || !isRestTemplateBacked() || getRouteCachePolicy().enabled()
+				|| getRouteCoalescePolicy().enabled()) {
+			return exchange();
+		}
+		return streamExchange(response);
+	}
+
+	protected void fastLaneExchange(HttpServletResponse response) throws IOException {
+		var errorResponseEntity = streamExchange(response);
+		if (errorResponseEntity != null) {
+			response.setStatus(errorResponseEntity.getStatusCode().value());
+			errorResponseEntity.getHeaders()
+				.forEach((name, values) -> values.forEach((value) -> response.addHeader(name, value)));
+			if (errorResponseEntity.getBody() instanceof Resource) {
+				try (var body = ((Resource) errorResponseEntity.getBody()).getInputStream()) {
+					StreamUtils.copy(body, response.getOutputStream());
+				}
+			}
+			response.flushBuffer();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected <T> ResponseEntity<T> streamExchange(HttpServletResponse response) {
+		try {
+			var requestEntity = requestEntity(null, isRequestBodyReplayable());
+			call(requestEntity, (restOperations) -> execute((RestTemplate) restOperations, requestEntity,
+					(clientResponse) -> streamResponse(clientResponse, response)));
+			return null;
+		}
+		catch (Exception ex) {
+			if (response.isCommitted()) {
+				throw (ex instanceof RuntimeException) ? ((RuntimeException) ex)
+						: new RestClientException(ex.getMessage(), ex);
+			}
+			response.reset();
+			return (ResponseEntity<T>) getErrorResponseEntity(ex, Resource.class);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	protected <T> ResponseEntity<T> updateResponse(Object response) {
 		if (response instanceof ResponseEntity) {
@@ -157,7 +250,8 @@ public class ProxyClient {
 	@SuppressWarnings("unchecked")
 	protected <T> ResponseEntity<T> exchangeResponse(Object responseBodyType) {
 		try {
-			return wrapResponseEntity(exchangeResponse(requestEntity(null, this.retryEnabled), responseBodyType));
+			return wrapResponseEntity(
+					exchangeResponse(requestEntity(null, isRequestBodyReplayable()), responseBodyType));
 		}
 		catch (Exception ex) {
 			return (ResponseEntity<T>) getErrorResponseEntity(ex, responseBodyType);
@@ -166,42 +260,247 @@ public class ProxyClient {
 
 	protected <T> ResponseEntity<T> wrapResponseEntity(ResponseEntity<T> responseEntity) {
 		return responeEntity(ResponseEntity.status(responseEntity.getStatusCode())
-			.headers(new ProxyHeaders(responseEntity))
+			.headers(this.responseHeaderFilter.filter(responseEntity.getHeaders()))
 			.body(responseEntity.getBody()));
 	}
 
 	@SuppressWarnings("unchecked")
 	protected <T> ResponseEntity<T> exchangeResponse(RequestEntity<?> requestEntity, Object responseBodyType) {
-		return (ResponseEntity<T>) ((responseBodyType instanceof ParameterizedTypeReference)
-				? this.restOperations.exchange(requestEntity, (ParameterizedTypeReference<?>) responseBodyType)
-				: this.restOperations.exchange(requestEntity, (Class<?>) responseBodyType));
+		if (HttpMethod.GET.equals(requestEntity.getMethod()) && getRouteCachePolicy().enabled()
+				&& isRestTemplateBacked()) {
+			return cachedExchange(requestEntity, responseBodyType);
+		}
+		if (isCoalescable(requestEntity)) {
+			return toResponseEntity(coalesce(requestEntity, () -> call(requestEntity,
+					(restOperations) -> execute((RestTemplate) restOperations, requestEntity, this::bufferResponse))),
+					responseBodyType);
+		}
+		return call(requestEntity,
+				(restOperations) -> (ResponseEntity<T>) ((responseBodyType instanceof ParameterizedTypeReference)
+						? restOperations.exchange(requestEntity, (ParameterizedTypeReference<?>) responseBodyType)
+						: restOperations.exchange(requestEntity, (Class<?>) responseBodyType)));
+	}
+
+	protected <T> ResponseEntity<T> cachedExchange(RequestEntity<?> requestEntity, Object responseBodyType) {
+		var cachePolicy = getRouteCachePolicy();
+		var retryPolicy = getRouteRetryPolicy();
+		var requestHeaders = requestEntity.getHeaders();
+		var requestCacheControl = Optional.ofNullable(requestHeaders.getCacheControl()).orElse("");
+		if (requestCacheControl.contains("no-store")) {
+			return toResponseEntity(fetch(requestEntity, null, cachePolicy, retryPolicy, getRequest(), false),
+					responseBodyType);
+		}
+		var key = requestEntity.getMethod().name().concat(" ").concat(uriString(requestEntity));
+		var now = System.currentTimeMillis();
+		var cached = this.responseCache.get(key, requestHeaders);
+		if (cached != null && !requestCacheControl.contains("no-cache") && !requestCacheControl.contains("max-age=0")) {
+			if (cached.isFresh(now)) {
+				return toResponseEntity(cached, now, responseBodyType);
+			}
+			if (cached.isStaleWhileRevalidate(now)) {
+				this.responseCache.revalidate(key, requestHeaders,
+						() -> fetch(requestEntity, cached, cachePolicy, retryPolicy, null, true));
+				return toResponseEntity(cached, now, responseBodyType);
+			}
+		}
+		try {
+			var request = getRequest();
+			return toResponseEntity(isCoalescable(requestEntity)
+					? coalesce(requestEntity,
+							() -> fetch(requestEntity, cached, cachePolicy, retryPolicy, request, true))
+					: fetch(requestEntity, cached, cachePolicy, retryPolicy, request, true), responseBodyType);
+		}
+		catch (RuntimeException ex) {
+			var serverError = (ex instanceof RestClientResponseException)
+					? ((RestClientResponseException) ex).getStatusCode().is5xxServerError()
+					: ex instanceof ResourceAccessException;
+			if (serverError && cached != null && cached.isStaleIfError(System.currentTimeMillis())) {
+				return toResponseEntity(cached, System.currentTimeMillis(), responseBodyType);
+			}
+			throw ex;
+		}
+	}
+
+	protected CachedClientHttpResponse fetch(RequestEntity<?> requestEntity, CachedResponse cached,
+			CachePolicy cachePolicy, RetryPolicy retryPolicy, HttpServletRequest request, boolean store) {
+		var fetchEntity = requestEntity;
+		if (cached != null && (cached.getHeaders().getETag() != null || cached.getHeaders().getLastModified() >= 0)) {
+			var headers = new HttpHeaders();
+			headers.addAll(requestEntity.getHeaders());
+			Optional.ofNullable(cached.getHeaders().getETag()).ifPresent(headers::setIfNoneMatch);
+			if (cached.getHeaders().getLastModified() >= 0) {
+				headers.setIfModifiedSince(cached.getHeaders().getLastModified());
+			}
+			fetchEntity = RequestEntity.method(requestEntity.getMethod(), uriString(requestEntity))
+				.headers(headers)
+				.body(requestEntity.getBody());
+		}
+		var conditionalEntity = fetchEntity;
+		var response = call(retryPolicy, request, conditionalEntity,
+				(restOperations) -> execute((RestTemplate) restOperations, conditionalEntity, this::bufferResponse));
+		if (!store) {
+			return response;
+		}
+		var key = requestEntity.getMethod().name().concat(" ").concat(uriString(requestEntity));
+		var now = System.currentTimeMillis();
+		var authorized = ResponseCache.isAuthorized(requestEntity.getHeaders());
+		if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+			var revalidated = cached.revalidated(response.getHeaders(), cachePolicy, authorized, now);
+			if (revalidated == null) {
+				this.responseCache.remove(key);
+				return new CachedClientHttpResponse(cached.getStatusCode(), cached.getHeaders(now), cached.getBody());
+			}
+			this.responseCache.put(key, requestEntity.getHeaders(), revalidated);
+			return new CachedClientHttpResponse(revalidated.getStatusCode(), revalidated.getHeaders(now),
+					revalidated.getBody());
+		}
+		Optional
+			.ofNullable(CachedResponse.of(response.getStatusCode(), response.getHeaders(),
+					response.getBodyAsByteArray(), cachePolicy, authorized, now))
+			.ifPresent((cacheable) -> this.responseCache.put(key, requestEntity.getHeaders(), cacheable));
+		return response;
+	}
+
+	protected boolean isCoalescable(RequestEntity<?> requestEntity) {
+		return getRouteCoalescePolicy().enabled()
+				&& (HttpMethod.GET.equals(requestEntity.getMethod())
+						|| HttpMethod.HEAD.equals(requestEntity.getMethod()))
+				&& requestEntity.getBody() == null && isRestTemplateBacked();
+	}
+
+	protected CachedClientHttpResponse coalesce(RequestEntity<?> requestEntity,
+			Supplier<CachedClientHttpResponse> exchange) {
+		var key = new StringBuilder(requestEntity.getMethod().name()).append(' ').append(uriString(requestEntity));
+		getRouteCoalescePolicy().keyHeaders()
+			.forEach((name) -> key.append('\n')
+				.append(name.toLowerCase(Locale.ROOT))
+				.append(':')
+				.append(String.join(",", Optional.ofNullable(requestEntity.getHeaders().get(name)).orElse(List.of()))));
+		return this.requestCoalescer.execute(key.toString(), exchange);
+	}
+
+	protected CachedClientHttpResponse bufferResponse(ClientHttpResponse clientResponse) throws IOException {
+		var headers = new HttpHeaders();
+		headers.addAll(clientResponse.getHeaders());
+		return new CachedClientHttpResponse(clientResponse.getStatusCode(), headers,
+				StreamUtils.copyToByteArray(clientResponse.getBody()));
+	}
+
+	protected <T> ResponseEntity<T> toResponseEntity(CachedResponse cached, long now, Object responseBodyType) {
+		return toResponseEntity(
+				new CachedClientHttpResponse(cached.getStatusCode(), cached.getHeaders(now), cached.getBody()),
+				responseBodyType);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected <T> ResponseEntity<T> toResponseEntity(CachedClientHttpResponse response, Object responseBodyType) {
+		var restTemplate = (RestTemplate) this.loadBalancer.getInstances().get(0).getRestOperations();
+		try {
+			return (ResponseEntity<T>) restTemplate
+				.responseEntityExtractor((responseBodyType instanceof ParameterizedTypeReference)
+						? ((ParameterizedTypeReference<?>) responseBodyType).getType() : (Type) responseBodyType)
+				.extractData(response);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	protected <R> R call(RequestEntity<?> requestEntity, Function<RestOperations, R> call) {
+		return call(getRouteRetryPolicy(), getRequest(), requestEntity, call);
+	}
+
+	protected <R> R call(RetryPolicy retryPolicy, HttpServletRequest request, RequestEntity<?> requestEntity,
+			Function<RestOperations, R> call) {
+		return this.retrier.execute(retryPolicy, requestEntity.getMethod(),
+				() -> this.circuitBreaker.execute(() -> this.loadBalancer.call(request, call)));
+	}
+
+	protected boolean isRestTemplateBacked() {
+		return this.loadBalancer.getInstances()
+			.stream()
+			.allMatch((instance) -> instance.getRestOperations() instanceof RestTemplate);
+	}
+
+	private static String uriString(RequestEntity<?> requestEntity) {
+		return (requestEntity instanceof RequestEntity.UriTemplateRequestEntity)
+				? ((RequestEntity.UriTemplateRequestEntity<?>) requestEntity).getUriTemplate()
+				: requestEntity.getUrl().toString();
+	}
+
+	protected <R> R execute(RestTemplate restTemplate, RequestEntity<?> requestEntity,
+			ResponseExtractor<R> responseExtractor) {
+		var requestCallback = restTemplate.httpEntityCallback(requestEntity);
+		if (requestEntity instanceof RequestEntity.UriTemplateRequestEntity) {
+			var templateEntity = (RequestEntity.UriTemplateRequestEntity<?>) requestEntity;
+			return (templateEntity.getVars() != null)
+					? restTemplate.execute(templateEntity.getUriTemplate(), requestEntity.getMethod(), requestCallback,
+							responseExtractor, templateEntity.getVars())
+					: restTemplate.execute(templateEntity.getUriTemplate(), requestEntity.getMethod(), requestCallback,
+							responseExtractor, templateEntity.getVarsMap());
+		}
+		return restTemplate.execute(requestEntity.getUrl(), requestEntity.getMethod(), requestCallback,
+				responseExtractor);
+	}
+
+	protected Void streamResponse(ClientHttpResponse clientResponse, HttpServletResponse response) throws IOException {
+		response.setStatus(clientResponse.getStatusCode().value());
+		this.responseHeaderFilter.filter(clientResponse.getHeaders())
+			.forEach((name, values) -> values.forEach((value) -> response.addHeader(name, value)));
+		var body = clientResponse.getBody();
+		var out = response.getOutputStream();
+		var buffer = new byte[STREAM_BUFFER_SIZE];
+		int read;
+		try {
+			while ((read = body.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+				if (body.available() == 0) {
+					out.flush();
+				}
+			}
+			out.flush();
+		}
+		catch (IOException ex) {
+			// the response is already on its way: surface as non retryable
+			throw new UncheckedIOException(ex);
+		}
+		return null;
 	}
 
 	protected ResponseEntity<Resource> getErrorResponseEntity(Exception ex, Object responseBodyType) {
+		var errorResponse = findCause(ex, ErrorResponse.class);
 		var errorStatusCode = ((ex instanceof RestClientResponseException)
-				? ((RestClientResponseException) ex).getStatusCode() : (ex instanceof ResourceAccessException)
+				? ((RestClientResponseException) ex).getStatusCode()
+				: (errorResponse != null) ? errorResponse.getStatusCode() : (ex instanceof ResourceAccessException)
 						? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR)
 			.value();
 		var errorHeaders = (ex instanceof HttpClientErrorException)
 				? ((HttpClientErrorException) ex).getResponseHeaders() : null;
+		if (ex instanceof CallNotPermittedException) {
+			errorHeaders = new HttpHeaders();
+			errorHeaders.set(HttpHeaders.RETRY_AFTER,
+					String.valueOf(Math.max(1, ((CallNotPermittedException) ex).getRetryAfter().toSeconds())));
+		}
 		var errorBodyType = toClass((responseBodyType instanceof ParameterizedTypeReference<?>)
 				? ((ParameterizedTypeReference<?>) responseBodyType).getType() : (Type) responseBodyType);
 		if (Resource.class.isAssignableFrom(errorBodyType)) {
 			var errorBody = new ByteArrayResource((ex instanceof RestClientResponseException)
 					? ((RestClientResponseException) ex).getResponseBodyAsByteArray()
 					: ex.toString().getBytes(StandardCharsets.UTF_8));
-			return responeEntity(
-					ResponseEntity.status(errorStatusCode).headers(new ProxyHeaders(errorHeaders)).body(errorBody));
+			return responeEntity(ResponseEntity.status(errorStatusCode)
+				.headers(this.responseHeaderFilter.filter(errorHeaders))
+				.body(errorBody));
 		}
 		throw (ex instanceof RuntimeException) ? ((RuntimeException) ex) : new RestClientException(ex.getMessage(), ex);
 	}
 
 	@SuppressWarnings("unchecked")
 	protected <T> ResponseEntity<T> responeEntity(ResponseEntity<T> responseEntity) {
+		var exchange = getExchange();
 		if (responseEntity != null) {
-			getRequest().setAttribute(RESPONSE_ENTITY_ATTR_NAME, responseEntity);
+			exchange.setResponseEntity(responseEntity);
 		}
-		return (ResponseEntity<T>) getRequest().getAttribute(RESPONSE_ENTITY_ATTR_NAME);
+		return (ResponseEntity<T>) exchange.getResponseEntity();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -221,38 +520,68 @@ public class ProxyClient {
 
 	@SuppressWarnings("unchecked")
 	protected <T> RequestEntity<T> requestEntity(RequestEntity<T> requestEntity, boolean cacheRequestBody) {
+		var exchange = getExchange();
 		var reqEntity = Optional.ofNullable(requestEntity)
-			.orElseGet(() -> Optional.ofNullable((RequestEntity<T>) getRequest().getAttribute(REQUEST_ENTITY_ATTR_NAME))
+			.orElseGet(() -> Optional.ofNullable((RequestEntity<T>) exchange.getRequestEntity())
 				.orElseGet(() -> (RequestEntity<T>) buildRequestEntity(cacheRequestBody)));
-		getRequest().setAttribute(REQUEST_ENTITY_ATTR_NAME, reqEntity);
+		exchange.setRequestEntity(reqEntity);
 		return reqEntity;
 	}
 
 	protected RequestEntity<Object> buildRequestEntity(boolean cacheRequestBody) {
 		var uri = buildRequestUri();
 		var method = buildRequestMethod();
-		var headers = buildRequestHeaders();
 		var body = buildRequestBody(uri, cacheRequestBody);
-		return RequestEntity.method(method, uri.toUriString()).headers(headers).body(body);
+		// filtered straight into the entity's own headers: copied exactly once
+		return requestEntityBuilder(method, uri).headers(this::copyRequestHeaders).body(body);
+	}
+
+	protected RequestEntity.BodyBuilder requestEntityBuilder(HttpMethod method, UriComponents uri) {
+		// a template would be re-parsed and re-encoded by the rest template
+		return this.rawPassThrough
+				? RequestEntity.method(method, Optional.ofNullable(buildRawRequestUri()).orElseGet(uri::toUri))
+				: RequestEntity.method(method, uri.toUriString());
+	}
+
+	protected URI buildRawRequestUri() {
+		var exchange = getExchange();
+		try {
+			return new URI(Optional.ofNullable(exchange.getRequest().getQueryString())
+				.map((qs) -> exchange.getRequestUri().concat("?").concat(qs))
+				.orElseGet(() -> exchange.getRequestUri()));
+		}
+		catch (URISyntaxException ex) {
+			// not strictly encoded as sent by the client: re-encoded
+			return null;
+		}
 	}
 
 	protected HttpMethod buildRequestMethod() {
-		return HttpMethod.valueOf(getRequest().getMethod());
+		return getExchange().getMethod();
 	}
 
 	protected UriComponents buildRequestUri() {
-		var uriBuilder = UriComponentsBuilder.fromPath(getRequest().getRequestURI());
-		Optional.ofNullable(getRequest().getQueryString())
+		var exchange = getExchange();
+		var request = exchange.getRequest();
+		if (this.rawPassThrough) {
+			// parsing the parameters would consume a form body
+			return UriComponentsBuilder.fromPath(exchange.getRequestUri())
+				.query(request.getQueryString())
+				.build()
+				.encode();
+		}
+		var uriBuilder = UriComponentsBuilder.fromPath(exchange.getRequestUri());
+		Optional.ofNullable(request.getQueryString())
 			.ifPresent((qs) -> Arrays.stream(qs.split("&"))
 				.map((p) -> p.split("=")[0])
-				.forEach((pn) -> uriBuilder.queryParam(pn, (Object[]) getRequest().getParameterValues(pn))));
+				.forEach((pn) -> uriBuilder.queryParam(pn, (Object[]) request.getParameterValues(pn))));
 		return uriBuilder.build().encode();
 	}
 
 	protected Object buildRequestBody(UriComponents requestUri, boolean cacheRequestBody) {
 		var request = getRequest();
 		var contentType = Optional.ofNullable(request.getContentType()).map((ct) -> MediaType.valueOf(ct)).orElse(null);
-		if (MediaType.APPLICATION_FORM_URLENCODED.equalsTypeAndSubtype(contentType)) {
+		if (!this.rawPassThrough && MediaType.APPLICATION_FORM_URLENCODED.equalsTypeAndSubtype(contentType)) {
 			@SuppressWarnings("unchecked")
 			var requestBodyMap = new LinkedMultiValueMap<String, String>(Map.ofEntries(request.getParameterMap()
 				.entrySet()
@@ -262,9 +591,16 @@ public class ProxyClient {
 			requestBodyMap.keySet().removeAll(requestUri.getQueryParams().keySet());
 			return requestBodyMap;
 		}
+		else if (request.getContentLengthLong() <= 0 && request.getHeader(HttpHeaders.TRANSFER_ENCODING) == null) {
+			return null;
+		}
 		else {
 			try {
-				return new ProxyResource(request.getInputStream(), cacheRequestBody);
+				var requestBody = cacheRequestBody
+						? new ProxyResource(this.replayableBodyStore.open(request.getInputStream()))
+						: new ProxyResource(request.getInputStream());
+				getExchange().setRequestBody(requestBody);
+				return requestBody;
 			}
 			catch (IOException ex) {
 				throw new IllegalStateException(ex);
@@ -272,54 +608,109 @@ public class ProxyClient {
 		}
 	}
 
-	protected void cleanRequestAttributes() {
-		getRequest().removeAttribute(REQUEST_ENTITY_ATTR_NAME);
-		getRequest().removeAttribute(RESPONSE_ENTITY_ATTR_NAME);
+	protected MultiValueMap<String, String> readFormBody(Resource requestBody, MediaType contentType) {
+		try (var body = requestBody.getInputStream()) {
+			var headers = new HttpHeaders();
+			headers.setContentType(contentType);
+			return FORM_CONVERTER.read(null, new HttpInputMessage() {
+
+				@Override
+				public InputStream getBody() {
+					return body;
+				}
+
+				@Override
+				public HttpHeaders getHeaders() {
+					return headers;
+				}
+
+			});
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	protected ProxyExchange bindExchange(HttpServletRequest request, ProxyRoute route) {
+		var exchange = new ProxyExchange(request, this.prefix, route);
+		this.exchange.set(exchange);
+		return exchange;
 	}
 
-	protected HttpHeaders buildRequestHeaders() {
-		return new ProxyHeaders(getRequest());
+	protected void releaseExchange() {
+		var exchange = this.exchange.get();
+		this.exchange.remove();
+		Optional.ofNullable(exchange).map((e) -> e.getRequestBody()).ifPresent((requestBody) -> {
+			try {
+				requestBody.close();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
 	}
 
-	protected HttpServletRequest getRequest() {
-		return this.requestSupplier.get();
+	public ProxyExchange getExchange() {
+		return Optional.ofNullable(this.exchange.get())
+			.orElseThrow(() -> new IllegalStateException("No proxy exchange bound to the current thread"));
 	}
 
-	private static Class<?> toClass(Type type) {
-		return (Class<?>) ((type instanceof ParameterizedType) ? ((ParameterizedType) type).getRawType() : type);
+	public boolean isFastLane() {
+		return this.fastLane && isRestTemplateBacked();
 	}
 
-	@SuppressWarnings("serial")
-	private final class ProxyHeaders extends HttpHeaders {
+	public boolean isAsync() {
+		return this.asyncExecutor != null;
+	}
 
-		private final List<String> ignoredRequestHeaders = new ArrayList<>(List.of(HttpHeaders.HOST));
+	public boolean isRetryEnabled() {
+		return this.retryPolicy.enabled();
+	}
 
-		private final List<String> ignoredResponseHeaders = new ArrayList<>(
-				List.of(HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING));
+	protected boolean isRequestBodyReplayable() {
+		return Optional.ofNullable(getExchange().getRoute())
+			.map((route) -> route.isRequestBodyReplayable())
+			.orElse(this.retryPolicy.enabled());
+	}
 
-		{
-			this.ignoredRequestHeaders.addAll(ProxyClient.this.ignoredRequestHeaders);
-			this.ignoredResponseHeaders.addAll(ProxyClient.this.ignoredResponseHeaders);
-		}
+	protected CoalescePolicy getRouteCoalescePolicy() {
+		return Optional.ofNullable(getExchange().getRoute())
+			.map((route) -> route.getCoalescePolicy())
+			.orElse(CoalescePolicy.DISABLED);
+	}
 
-		private ProxyHeaders(HttpServletRequest request) {
-			Collections.list(request.getHeaderNames())
-				.stream()
-				.forEach((hn) -> addAll(hn, Collections.list(request.getHeaders(hn))));
-			this.ignoredRequestHeaders.forEach(this::remove);
-		}
+	protected CachePolicy getRouteCachePolicy() {
+		return Optional.ofNullable(getExchange().getRoute())
+			.map((route) -> route.getCachePolicy())
+			.orElse(CachePolicy.DISABLED);
+	}
 
-		private ProxyHeaders(ResponseEntity<?> responseEntity) {
-			this(responseEntity.getHeaders());
-		}
+	protected RetryPolicy getRouteRetryPolicy() {
+		return Optional.ofNullable(getExchange().getRoute())
+			.map((route) -> route.getRetryPolicy())
+			.orElse(this.retryPolicy);
+	}
 
-		private ProxyHeaders(HttpHeaders responseHeaders) {
-			if (responseHeaders != null) {
-				addAll(responseHeaders);
-				this.ignoredResponseHeaders.forEach(this::remove);
+	protected void copyRequestHeaders(HttpHeaders headers) {
+		var request = getRequest();
+		this.requestHeaderFilter.copy(request.getHeaderNames(), request::getHeaders, headers);
+	}
+
+	protected HttpServletRequest getRequest() {
+		return getExchange().getRequest();
+	}
+
+	private static <E> E findCause(Throwable ex, Class<E> causeType) {
+		for (var cause = ex; cause != null; cause = (cause.getCause() != cause) ? cause.getCause() : null) {
+			if (causeType.isInstance(cause)) {
+				return causeType.cast(cause);
 			}
 		}
+		return null;
+	}
 
+	private static Class<?> toClass(Type type) {
+		return (Class<?>) ((type instanceof ParameterizedType) ? ((ParameterizedType) type).getRawType() : type);
 	}
 
 }
@@ -16,78 +16,132 @@
 
 package com.swisscom.openapi.reverseproxy.client;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
-import org.springframework.beans.FatalBeanException;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.ClassUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.swisscom.openapi.reverseproxy.annotation.ProxyInterceptor;
+import com.swisscom.openapi.reverseproxy.cache.CachePolicy;
+import com.swisscom.openapi.reverseproxy.cache.CoalescePolicy;
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorInvoker;
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorMethodResolver;
 
-public class ProxyClientMethodInterceptor extends ProxyMethodInterceptor<Object> {
+import io.swagger.v3.oas.models.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
-	private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+public class ProxyClientMethodInterceptor extends ProxyMethodInterceptor<Object> {
 
 	private final Object proxyOptionsBean;
 
 	private final ProxyClient proxyClient;
 
-	private Method interceptorMethod;
+	private final ProxyRoute route;
+
+	private final boolean fastLane;
+
+	private final ProxyInterceptorInvoker interceptorInvoker;
 
 	public ProxyClientMethodInterceptor(Object proxyOptionsBean, String path, List<RequestMethod> requestMethods,
-			ProxyClient proxyClient) {
+			Operation operation, ProxyClient proxyClient) {
 		this.proxyOptionsBean = proxyOptionsBean;
 		this.proxyClient = proxyClient;
 
-		var interceptorMethods = Arrays.stream(ClassUtils.getUserClass(proxyOptionsBean).getMethods())
-			.filter((method) -> Optional.ofNullable(method.getAnnotation(ProxyInterceptor.class))
-				.map((annot) -> matchAnnotationPaths(annot.path(), path)
-						&& matchAnnotationMethods(annot.method(), requestMethods))
-				.orElse(false))
-			.toArray(Method[]::new);
-		if (interceptorMethods.length > 1) {
-			throw new FatalBeanException(
-					"Too many interceptors for the same [path, methods] pair: [" + path + ", " + requestMethods + "]");
+		var interceptorMethod = new ProxyInterceptorMethodResolver().resolve(proxyOptionsBean, path, requestMethods);
+		this.interceptorInvoker = ProxyInterceptorInvoker.of(interceptorMethod);
+		var retryPolicy = proxyClient.getRetryPolicy().forOperation(operation);
+		var cachePolicy = Optional.ofNullable(interceptorMethod)
+			.map((method) -> method.getAnnotation(ProxyInterceptor.class).cache())
+			.filter((cache) -> cache.length > 0)
+			.map((cache) -> CachePolicy.of(cache[0]))
+			.orElseGet(() -> CachePolicy.forOperation(operation));
+		var coalescePolicy = Optional.ofNullable(interceptorMethod)
+			.map((method) -> method.getAnnotation(ProxyInterceptor.class).coalesce())
+			.filter((coalesce) -> coalesce.length > 0)
+			.map((coalesce) -> CoalescePolicy.of(coalesce[0]))
+			.orElseGet(() -> CoalescePolicy.forOperation(operation));
+		this.route = new ProxyRoute(path, requestMethods, interceptorMethod != null,
+				interceptorMethod != null || retryPolicy.enabled(), retryPolicy, cachePolicy, coalescePolicy);
+		this.fastLane = proxyClient.isFastLane() && !proxyClient.isAsync() && interceptorMethod == null
+				&& !cachePolicy.enabled() && !coalescePolicy.enabled();
+	}
+
+	@Override
+	public Object invoke() {
+		return invoke(((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest(), null);
+	}
+
+	public Object invoke(HttpServletRequest request, HttpServletResponse response) {
+		try {
+			this.proxyClient.bindExchange(request, this.route);
+			var interceptedResponse = (this.interceptorInvoker != null) ? this.proxyClient
+				.updateResponse(this.interceptorInvoker.invoke(this.proxyOptionsBean, this.proxyClient)) : null;
+			if (interceptedResponse != null) {
+				return interceptedResponse;
+			}
+			return (response != null) ? this.proxyClient.exchange(response) : this.proxyClient.exchange();
 		}
-		if (interceptorMethods.length == 1) {
-			this.interceptorMethod = interceptorMethods[0];
-			this.interceptorMethod.setAccessible(true);
+		finally {
+			this.proxyClient.releaseExchange();
+		}
+	}
+
+	public void invokeFastLane(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		try {
+			this.proxyClient.bindExchange(request, this.route);
+			this.proxyClient.fastLaneExchange(response);
+		}
+		finally {
+			this.proxyClient.releaseExchange();
 		}
 	}
 
 	@Override
-	public Object invoke() {
+	public boolean isFastLane() {
+		return this.fastLane;
+	}
+
+	public CompletableFuture<Object> invokeAsync(HttpServletRequest request, HttpServletResponse response) {
 		try {
-			return Optional.ofNullable(this.interceptorMethod).map((method) -> {
+			return CompletableFuture.supplyAsync(() -> {
+				// the container thread is gone: bind a fresh, active request scope to the
+				// worker
+				RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
 				try {
-					return this.proxyClient.updateResponse(method.invoke(this.proxyOptionsBean, this.proxyClient));
-				}
-				catch (InvocationTargetException ex) {
-					throw new IllegalStateException(ex.getTargetException());
+					return invoke(request, null);
 				}
-				catch (IllegalAccessException ex) {
-					throw new IllegalStateException(ex);
+				finally {
+					RequestContextHolder.resetRequestAttributes();
 				}
-			}).orElseGet(() -> this.proxyClient.exchange());
+			}, this.proxyClient.getAsyncExecutor());
 		}
-		finally {
-			this.proxyClient.cleanRequestAttributes();
+		catch (RejectedExecutionException ex) {
+			// the task executor is saturated: shed the load instead of queueing forever
+			return CompletableFuture.completedFuture(
+					ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build());
 		}
 	}
 
-	protected boolean matchAnnotationMethods(RequestMethod[] annotationMethods, List<RequestMethod> requestMethods) {
-		return annotationMethods.length == 0 || requestMethods.containsAll(List.of(annotationMethods))
-				|| List.of(annotationMethods).containsAll(requestMethods);
-	}
-
-	protected boolean matchAnnotationPaths(String[] annotationPaths, String path) {
-		return annotationPaths.length == 0 || Arrays.stream(annotationPaths)
-			.anyMatch((ap) -> this.antPathMatcher.match(ap, path) || this.antPathMatcher.match(path, ap));
+	@Override
+	public Method getInvocationMethod() {
+		try {
+			return this.proxyClient.isAsync()
+					? getClass().getDeclaredMethod("invokeAsync", HttpServletRequest.class, HttpServletResponse.class)
+					: getClass().getDeclaredMethod("invoke", HttpServletRequest.class, HttpServletResponse.class);
+		}
+		catch (NoSuchMethodException | SecurityException ex) {
+			throw new IllegalStateException(ex);
+		}
 	}
 
 }
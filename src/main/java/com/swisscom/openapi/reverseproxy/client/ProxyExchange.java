@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class ProxyExchange {
+
+	private final HttpServletRequest request;
+
+	private final String requestUri;
+
+	private final HttpMethod method;
+
+	private final ProxyRoute route;
+
+	@Setter(AccessLevel.PACKAGE)
+	private RequestEntity<?> requestEntity;
+
+	@Setter(AccessLevel.PACKAGE)
+	private ResponseEntity<?> responseEntity;
+
+	@Setter(AccessLevel.PACKAGE)
+	private ProxyResource requestBody;
+
+	public ProxyExchange(HttpServletRequest request, String prefix, ProxyRoute route) {
+		this.request = new ProxyHttpServletRequest(request, prefix);
+		this.requestUri = this.request.getRequestURI();
+		this.method = HttpMethod.valueOf(request.getMethod());
+		this.route = route;
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.client;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import com.swisscom.openapi.reverseproxy.util.ProxyHandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Component
+public class ProxyFastLaneFilter extends OncePerRequestFilter implements Ordered {
+
+	// behind the application's filters, Spring Security included, which still see
+	// every fast lane request
+	public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+	@Lazy
+	@Autowired
+	private ProxyHandlerMapping proxyHandlerMapping;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		// CORS handling lives in the DispatcherServlet's handler chain
+		if (!this.proxyHandlerMapping.hasFastLaneRoutes() || CorsUtils.isCorsRequest(request)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		var parsedByFilter = !ServletRequestPathUtils.hasParsedRequestPath(request);
+		if (parsedByFilter) {
+			ServletRequestPathUtils.parseAndCache(request);
+		}
+		var handlerMethod = this.proxyHandlerMapping.lookupHandlerMethod(request);
+		// handler interceptors, authorization ones included, are only run by the
+		// DispatcherServlet
+		if (handlerMethod != null && handlerMethod.getBean() instanceof ProxyClientMethodInterceptor
+				&& ((ProxyClientMethodInterceptor) handlerMethod.getBean()).isFastLane()
+				&& !this.proxyHandlerMapping.hasInterceptors(request)) {
+			((ProxyClientMethodInterceptor) handlerMethod.getBean()).invokeFastLane(request, response);
+			return;
+		}
+		this.proxyHandlerMapping.clearRouteAttributes(request);
+		if (parsedByFilter) {
+			ServletRequestPathUtils.clearParsedRequestPath(request);
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return true;
+	}
+
+}
@@ -22,6 +22,10 @@ public abstract class ProxyMethodInterceptor<T> {
 
 	public abstract T invoke();
 
+	public boolean isFastLane() {
+		return false;
+	}
+
 	public Method getInvocationMethod() {
 		try {
 			return getClass().getDeclaredMethod("invoke");
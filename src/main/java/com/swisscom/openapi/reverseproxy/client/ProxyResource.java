@@ -16,20 +16,30 @@
 
 package com.swisscom.openapi.reverseproxy.client;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 import org.springframework.core.io.AbstractResource;
 
-public class ProxyResource extends AbstractResource {
+public class ProxyResource extends AbstractResource implements Closeable {
 
-	private InputStream inputStream;
+	private static final int CHUNK_SIZE = 32 * 1024;
 
-	public ProxyResource(InputStream inputStream, boolean cache) {
-		this.inputStream = cache ? new CachingInputStream(inputStream) : inputStream;
+	private final InputStream inputStream;
+
+	private final ReplayableBody replayableBody;
+
+	public ProxyResource(InputStream inputStream) {
+		this.inputStream = new ChunkedInputStream(inputStream);
+		this.replayableBody = null;
+	}
+
+	public ProxyResource(ReplayableBody replayableBody) {
+		this.inputStream = null;
+		this.replayableBody = replayableBody;
 	}
 
 	@Override
@@ -38,41 +48,37 @@ public class ProxyResource extends AbstractResource {
 	}
 
 	@Override
-	public InputStream getInputStream() {
-		return this.inputStream;
+	public long contentLength() {
+		return -1;
 	}
 
-	private static final class CachingInputStream extends FilterInputStream {
-
-		private ByteArrayOutputStream buf = new ByteArrayOutputStream();
+	@Override
+	public InputStream getInputStream() {
+		return (this.replayableBody != null) ? this.replayableBody.getInputStream() : this.inputStream;
+	}
 
-		@Override
-		public int read() throws IOException {
-			var bites = new byte[1];
-			var rv = read(bites, 0, 1);
-			return (rv == -1) ? rv : bites[0];
+	@Override
+	public void close() throws IOException {
+		if (this.replayableBody != null) {
+			this.replayableBody.close();
 		}
+	}
 
-		@Override
-		public int read(byte[] b) throws IOException {
-			return read(b, 0, b.length);
-		}
+	private static final class ChunkedInputStream extends FilterInputStream {
 
 		@Override
-		public int read(byte[] b, int off, int len) throws IOException {
-			var rv = in.read(b, off, len);
-			if (!(in instanceof ByteArrayInputStream)) {
-				if (rv == -1) {
-					in = new ByteArrayInputStream(this.buf.toByteArray());
-				}
-				else {
-					this.buf.write(b, off, rv);
-				}
+		public long transferTo(OutputStream out) throws IOException {
+			var chunk = new byte[CHUNK_SIZE];
+			var transferred = 0L;
+			int read;
+			while ((read = in.read(chunk, 0, CHUNK_SIZE)) != -1) {
+				out.write(chunk, 0, read);
+				transferred += read;
 			}
-			return rv;
+			return transferred;
 		}
 
-		private CachingInputStream(InputStream in) {
+		private ChunkedInputStream(InputStream in) {
 			super(in);
 		}
 
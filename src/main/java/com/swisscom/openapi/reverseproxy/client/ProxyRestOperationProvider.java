@@ -16,25 +16,118 @@
 
 package com.swisscom.openapi.reverseproxy.client;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.swisscom.openapi.reverseproxy.config.ConnectionPoolOptions;
 
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @ConditionalOnMissingBean(value = ProxyRestOperationProvider.class, ignored = ProxyRestOperationProvider.class)
 @Component
-public class ProxyRestOperationProvider implements RestOperationsProvider {
+public class ProxyRestOperationProvider implements RestOperationsProvider, DisposableBean {
 
 	private final Optional<RestTemplateBuilder> restTemplateBuilder;
 
+	private final Map<PoolKey, PooledRestOperations> pooledRestOperations = new ConcurrentHashMap<>();
+
 	@Override
 	public RestOperations getRestOperations(String target) {
-		return this.restTemplateBuilder.orElseGet(() -> new RestTemplateBuilder()).rootUri(target).build();
+		return getRestOperations(target, ConnectionPoolOptions.DEFAULT);
+	}
+
+	@Override
+	public RestOperations getRestOperations(String target, ConnectionPoolOptions connectionPool) {
+		// proxies sharing a target but not their pool options get a pool each
+		return this.pooledRestOperations
+			.computeIfAbsent(new PoolKey(target, connectionPool),
+					(key) -> buildPooledRestOperations(key.target(), key.connectionPool()))
+			.restTemplate();
+	}
+
+	public Map<String, PoolStats> getConnectionPoolStats() {
+		return this.pooledRestOperations.entrySet()
+			.stream()
+			.collect(Collectors.toMap((e) -> e.getKey().target(),
+					(e) -> e.getValue().connectionManager().getTotalStats(),
+					(s1, s2) -> new PoolStats(s1.getLeased() + s2.getLeased(), s1.getPending() + s2.getPending(),
+							s1.getAvailable() + s2.getAvailable(), s1.getMax() + s2.getMax())));
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		for (var pooled : this.pooledRestOperations.values()) {
+			pooled.httpClient().close();
+		}
+		this.pooledRestOperations.clear();
+	}
+
+	protected PooledRestOperations buildPooledRestOperations(String target, ConnectionPoolOptions connectionPool) {
+		var connectionConfig = ConnectionConfig.custom();
+		Optional.ofNullable(connectionPool.connectTimeout())
+			.ifPresent((timeout) -> connectionConfig.setConnectTimeout(Timeout.of(timeout)));
+		Optional.ofNullable(connectionPool.readTimeout())
+			.ifPresent((timeout) -> connectionConfig.setSocketTimeout(Timeout.of(timeout)));
+		Optional.ofNullable(connectionPool.timeToLive())
+			.ifPresent((ttl) -> connectionConfig.setTimeToLive(TimeValue.of(ttl)));
+		var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+			.setMaxConnTotal(connectionPool.maxTotal())
+			.setMaxConnPerRoute(connectionPool.maxPerRoute())
+			.setDefaultConnectionConfig(connectionConfig.build())
+			.build();
+		var httpClientBuilder = HttpClients.custom()
+			.setConnectionManager(connectionManager)
+			.disableAutomaticRetries()
+			.disableRedirectHandling()
+			.disableContentCompression()
+			.disableCookieManagement()
+			.evictExpiredConnections();
+		Optional.ofNullable(connectionPool.idleTimeout())
+			.ifPresent((idle) -> httpClientBuilder.evictIdleConnections(TimeValue.of(idle)));
+		var httpClient = httpClientBuilder.build();
+		var requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+		Optional.ofNullable(connectionPool.connectionRequestTimeout())
+			.ifPresent(requestFactory::setConnectionRequestTimeout);
+		// relative URIs (raw pass-through) bypass template expansion and are resolved
+		// verbatim against the target
+		ClientHttpRequestFactory resolvingRequestFactory = (uri, method) -> requestFactory
+			.createRequest(uri.isAbsolute() ? uri : URI.create(target.concat(uri.toString())), method);
+		var restTemplate = this.restTemplateBuilder.orElseGet(() -> new RestTemplateBuilder())
+			.rootUri(target)
+			.requestFactory(() -> resolvingRequestFactory)
+			.build();
+		return new PooledRestOperations(restTemplate, httpClient, connectionManager);
+	}
+
+	protected record PoolKey(String target, ConnectionPoolOptions connectionPool) {
+
+	}
+
+	protected record PooledRestOperations(RestTemplate restTemplate, CloseableHttpClient httpClient,
+			PoolingHttpClientConnectionManager connectionManager) {
+
 	}
 
 }
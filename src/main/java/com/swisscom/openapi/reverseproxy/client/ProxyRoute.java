@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.client;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import com.swisscom.openapi.reverseproxy.cache.CachePolicy;
+import com.swisscom.openapi.reverseproxy.cache.CoalescePolicy;
+import com.swisscom.openapi.reverseproxy.resilience.RetryPolicy;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ProxyRoute {
+
+	private final String path;
+
+	private final List<RequestMethod> requestMethods;
+
+	private final boolean intercepted;
+
+	private final boolean requestBodyReplayable;
+
+	private final RetryPolicy retryPolicy;
+
+	private final CachePolicy cachePolicy;
+
+	private final CoalescePolicy coalescePolicy;
+
+}
@@ -16,23 +16,45 @@
 
 package com.swisscom.openapi.reverseproxy.client;
 
+import java.lang.reflect.Method;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
-import io.swagger.v3.core.util.Json;
-import io.swagger.v3.core.util.Yaml;
-import io.swagger.v3.oas.models.OpenAPI;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiDocument;
+
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
-public class ProxySwaggerSpecMethodInterceptor extends ProxyMethodInterceptor<ResponseEntity<String>> {
+public class ProxySwaggerSpecMethodInterceptor extends ProxyMethodInterceptor<ResponseEntity<byte[]>> {
 
-	private final OpenAPI openApi;
+	private final OpenApiDocument document;
+
+	@Override
+	public ResponseEntity<byte[]> invoke() {
+		return toResponseEntity(this.document.negotiate(null, null));
+	}
 
-	private final boolean yaml;
+	public ResponseEntity<byte[]> invoke(HttpServletRequest request) {
+		return toResponseEntity(this.document.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+				request.getHeader(HttpHeaders.IF_NONE_MATCH)));
+	}
 
 	@Override
-	public ResponseEntity<String> invoke() {
-		return ResponseEntity.ok(this.yaml ? Yaml.pretty(this.openApi) : Json.pretty(this.openApi));
+	public Method getInvocationMethod() {
+		try {
+			return getClass().getDeclaredMethod("invoke", HttpServletRequest.class);
+		}
+		catch (NoSuchMethodException | SecurityException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	protected ResponseEntity<byte[]> toResponseEntity(OpenApiDocument.Representation representation) {
+		return ResponseEntity.status(representation.status())
+			.headers(representation.headers())
+			.body(representation.body());
 	}
 
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.server.PayloadTooLargeException;
+
+import com.swisscom.openapi.reverseproxy.util.DirectBufferPool;
+
+public class ReplayableBody implements Closeable {
+
+	private final InputStream source;
+
+	private final DirectBufferPool bufferPool;
+
+	private final long memoryThreshold;
+
+	private final long maxSize;
+
+	private final List<ByteBuffer> chunks = new ArrayList<>();
+
+	private Path spillFile;
+
+	private FileChannel spillChannel;
+
+	private long size;
+
+	private boolean complete;
+
+	ReplayableBody(InputStream source, DirectBufferPool bufferPool, long memoryThreshold, long maxSize) {
+		this.source = source;
+		this.bufferPool = bufferPool;
+		this.memoryThreshold = memoryThreshold;
+		this.maxSize = maxSize;
+	}
+
+	public InputStream getInputStream() {
+		return new ReplayInputStream();
+	}
+
+	public boolean isSpilled() {
+		return this.spillChannel != null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.chunks.forEach(this.bufferPool::release);
+		this.chunks.clear();
+		if (this.spillChannel != null) {
+			this.spillChannel.close();
+			Files.deleteIfExists(this.spillFile);
+			this.spillChannel = null;
+		}
+	}
+
+	protected int read(long position, byte[] b, int off, int len) throws IOException {
+		if (position < this.size) {
+			return readStored(position, b, off, (int) Math.min(len, this.size - position));
+		}
+		if (this.complete) {
+			return -1;
+		}
+		var read = this.source.read(b, off, len);
+		if (read == -1) {
+			this.complete = true;
+		}
+		else {
+			append(b, off, read);
+		}
+		return read;
+	}
+
+	protected int readStored(long position, byte[] b, int off, int len) throws IOException {
+		if (this.spillChannel != null) {
+			return this.spillChannel.read(ByteBuffer.wrap(b, off, len), position);
+		}
+		var chunk = this.chunks.get((int) (position / this.bufferPool.getChunkSize()));
+		var offset = (int) (position % this.bufferPool.getChunkSize());
+		var read = Math.min(len, chunk.position() - offset);
+		chunk.get(offset, b, off, read);
+		return read;
+	}
+
+	protected void append(byte[] b, int off, int len) throws IOException {
+		if (this.size + len > this.maxSize) {
+			throw new PayloadTooLargeException(
+					new IOException("Request body exceeds the maximum size of " + this.maxSize + " bytes"));
+		}
+		if (this.spillChannel == null && this.size + len > this.memoryThreshold) {
+			spill();
+		}
+		if (this.spillChannel != null) {
+			var buffer = ByteBuffer.wrap(b, off, len);
+			while (buffer.hasRemaining()) {
+				this.spillChannel.write(buffer, this.size + buffer.position() - off);
+			}
+		}
+		else {
+			var remaining = len;
+			while (remaining > 0) {
+				var chunk = (this.chunks.isEmpty() || !this.chunks.get(this.chunks.size() - 1).hasRemaining())
+						? addChunk() : this.chunks.get(this.chunks.size() - 1);
+				var written = Math.min(remaining, chunk.remaining());
+				chunk.put(b, off + len - remaining, written);
+				remaining -= written;
+			}
+		}
+		this.size += len;
+	}
+
+	protected void spill() throws IOException {
+		this.spillFile = Files.createTempFile("proxy-body-", ".tmp");
+		this.spillChannel = FileChannel.open(this.spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.DELETE_ON_CLOSE);
+		for (var chunk : this.chunks) {
+			var stored = chunk.flip();
+			while (stored.hasRemaining()) {
+				this.spillChannel.write(stored);
+			}
+			this.bufferPool.release(chunk);
+		}
+		this.chunks.clear();
+	}
+
+	private ByteBuffer addChunk() {
+		var chunk = this.bufferPool.acquire();
+		this.chunks.add(chunk);
+		return chunk;
+	}
+
+	private final class ReplayInputStream extends InputStream {
+
+		private final byte[] single = new byte[1];
+
+		private long position;
+
+		@Override
+		public int read() throws IOException {
+			return (read(this.single, 0, 1) == -1) ? -1 : (this.single[0] & 0xff);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			var read = ReplayableBody.this.read(this.position, b, off, len);
+			if (read > 0) {
+				this.position += read;
+			}
+			return read;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(Integer.MAX_VALUE, ReplayableBody.this.size - this.position);
+		}
+
+	}
+
+}
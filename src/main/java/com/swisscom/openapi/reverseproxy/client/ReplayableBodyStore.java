@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.client;
+
+import java.io.InputStream;
+
+import com.swisscom.openapi.reverseproxy.config.RequestBufferOptions;
+import com.swisscom.openapi.reverseproxy.util.DirectBufferPool;
+
+import lombok.Getter;
+
+public class ReplayableBodyStore {
+
+	private final RequestBufferOptions options;
+
+	@Getter
+	private final DirectBufferPool bufferPool;
+
+	public ReplayableBodyStore(RequestBufferOptions options) {
+		this.options = options;
+		this.bufferPool = new DirectBufferPool((int) options.chunkSize().toBytes(), options.poolSize().toBytes());
+	}
+
+	public ReplayableBody open(InputStream source) {
+		return new ReplayableBody(source, this.bufferPool, this.options.memoryThreshold().toBytes(),
+				this.options.maxSize().toBytes());
+	}
+
+}
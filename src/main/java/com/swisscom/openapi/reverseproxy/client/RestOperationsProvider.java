@@ -18,10 +18,16 @@ package com.swisscom.openapi.reverseproxy.client;
 
 import org.springframework.web.client.RestOperations;
 
+import com.swisscom.openapi.reverseproxy.config.ConnectionPoolOptions;
+
 public interface RestOperationsProvider {
 
 	RestOperations getRestOperations(String target);
 
+	default RestOperations getRestOperations(String target, ConnectionPoolOptions connectionPool) {
+		return getRestOperations(target);
+	}
+
 	default boolean isRetryEnabled(String target) {
 		return false;
 	}
@@ -16,6 +16,7 @@
 
 package com.swisscom.openapi.reverseproxy.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -37,6 +38,62 @@ public class AnnotationProxyOptions extends SpelEvaluatedProxyOptions {
 		this.beanName = beanName;
 	}
 
+	@Override
+	public ConnectionPoolOptions getConnectionPool() {
+		var connectionPool = this.annotation.options().connectionPool();
+		return new ConnectionPoolOptions(connectionPool.maxTotal(), connectionPool.maxPerRoute(),
+				evaluateDuration(connectionPool.connectTimeout()), evaluateDuration(connectionPool.readTimeout()),
+				evaluateDuration(connectionPool.connectionRequestTimeout()),
+				evaluateDuration(connectionPool.idleTimeout()), evaluateDuration(connectionPool.timeToLive()));
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return this.annotation.options().streaming();
+	}
+
+	@Override
+	public boolean isAsync() {
+		return this.annotation.options().async();
+	}
+
+	@Override
+	public boolean isFastLane() {
+		return this.annotation.options().fastLane();
+	}
+
+	@Override
+	public boolean isLazy() {
+		return this.annotation.options().lazy();
+	}
+
+	@Override
+	public boolean isRawPassThrough() {
+		return this.annotation.options().rawPassThrough();
+	}
+
+	@Override
+	public Duration getReloadInterval() {
+		return evaluateDuration(this.annotation.options().reloadInterval());
+	}
+
+	@Override
+	public RequestBufferOptions getRequestBuffer() {
+		var requestBuffer = this.annotation.options().requestBuffer();
+		return new RequestBufferOptions(evaluateDataSize(requestBuffer.chunkSize()),
+				evaluateDataSize(requestBuffer.memoryThreshold()), evaluateDataSize(requestBuffer.maxSize()),
+				evaluateDataSize(requestBuffer.poolSize()));
+	}
+
+	@Override
+	public RetryOptions getRetry() {
+		var retry = this.annotation.options().retry();
+		return new RetryOptions(retry.enabled(), retry.maxAttempts(), evaluateDuration(retry.initialBackoff()),
+				evaluateDuration(retry.maxBackoff()), retry.multiplier(), retry.jitter(), retry.retryOnConnectFailure(),
+				Arrays.stream(retry.retryStatuses()).boxed().toList(), retry.budgetRatio(),
+				retry.budgetMinRetriesPerSecond());
+	}
+
 	protected String specification() {
 		return this.annotation.specification();
 	}
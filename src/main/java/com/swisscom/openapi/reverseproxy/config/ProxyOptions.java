@@ -16,6 +16,7 @@
 
 package com.swisscom.openapi.reverseproxy.config;
 
+import java.time.Duration;
 import java.util.List;
 
 public interface ProxyOptions {
@@ -30,4 +31,60 @@ public interface ProxyOptions {
 
 	List<String> getIgnoredResponseHeaders();
 
+	default ConnectionPoolOptions getConnectionPool() {
+		return ConnectionPoolOptions.DEFAULT;
+	}
+
+	default boolean isStreaming() {
+		return false;
+	}
+
+	default boolean isAsync() {
+		return false;
+	}
+
+	default boolean isFastLane() {
+		return false;
+	}
+
+	default boolean isLazy() {
+		return false;
+	}
+
+	default boolean isRawPassThrough() {
+		return false;
+	}
+
+	default Duration getReloadInterval() {
+		return null;
+	}
+
+	default RequestBufferOptions getRequestBuffer() {
+		return RequestBufferOptions.DEFAULT;
+	}
+
+	default RetryOptions getRetry() {
+		return RetryOptions.DEFAULT;
+	}
+
+	default CircuitBreakerOptions getCircuitBreaker() {
+		return CircuitBreakerOptions.DEFAULT;
+	}
+
+	default LoadBalancerOptions getLoadBalancer() {
+		return LoadBalancerOptions.DEFAULT;
+	}
+
+	default HealthCheckOptions getHealthCheck() {
+		return HealthCheckOptions.DEFAULT;
+	}
+
+	default OutlierDetectionOptions getOutlierDetection() {
+		return OutlierDetectionOptions.DEFAULT;
+	}
+
+	default ResponseCacheOptions getResponseCache() {
+		return ResponseCacheOptions.DEFAULT;
+	}
+
 }
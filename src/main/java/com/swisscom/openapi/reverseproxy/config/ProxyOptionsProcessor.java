@@ -17,39 +17,53 @@
 package com.swisscom.openapi.reverseproxy.config;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanPostProcessor;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.swisscom.openapi.reverseproxy.annotation.Proxy;
+import com.swisscom.openapi.reverseproxy.balancer.LoadBalancerFactory;
+import com.swisscom.openapi.reverseproxy.balancer.LoadBalancingStrategy;
+import com.swisscom.openapi.reverseproxy.balancer.OutlierDetector;
+import com.swisscom.openapi.reverseproxy.balancer.UpstreamHealthChecker;
+import com.swisscom.openapi.reverseproxy.balancer.UpstreamInstance;
+import com.swisscom.openapi.reverseproxy.cache.RequestCoalescer;
+import com.swisscom.openapi.reverseproxy.cache.ResponseCache;
 import com.swisscom.openapi.reverseproxy.client.ProxyClient;
-import com.swisscom.openapi.reverseproxy.client.ProxyHttpServletRequest;
+import com.swisscom.openapi.reverseproxy.client.ReplayableBodyStore;
 import com.swisscom.openapi.reverseproxy.client.RestOperationsProvider;
 import com.swisscom.openapi.reverseproxy.openapi.OpenApiManager;
 import com.swisscom.openapi.reverseproxy.openapi.OpenApiProvider;
 import com.swisscom.openapi.reverseproxy.openapi.OpenApiRegistry;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiSpecificationCache;
+import com.swisscom.openapi.reverseproxy.resilience.CircuitBreakerRegistry;
+import com.swisscom.openapi.reverseproxy.resilience.RetryPolicy;
+import com.swisscom.openapi.reverseproxy.resilience.RetryRegistry;
+import com.swisscom.openapi.reverseproxy.util.HeaderFilter;
+import com.swisscom.openapi.reverseproxy.util.ProxyHandlerMapping;
 import com.swisscom.openapi.reverseproxy.util.RequestMappingRegistrationHandler;
 import com.swisscom.openapi.reverseproxy.util.SpelExpressionEvaluator;
 
 import io.swagger.v3.oas.models.OpenAPI;
-import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
+import io.swagger.v3.oas.models.servers.Server;
 
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @Component
-public class ProxyOptionsProcessor implements BeanPostProcessor {
+public class ProxyOptionsProcessor implements BeanPostProcessor, SmartInitializingSingleton, DisposableBean {
 
 	protected GenericApplicationContext applicationContext;
 
@@ -57,14 +71,41 @@ public class ProxyOptionsProcessor implements BeanPostProcessor {
 
 	private OpenApiManager openApiManager;
 
+	private ProxySpecificationLoader proxySpecificationLoader;
+
+	private ProxySpecificationWatcher proxySpecificationWatcher;
+
+	private final Map<String, TargetedProxyClient> proxyClients = new ConcurrentHashMap<>();
+
 	@Lazy
 	@Autowired
 	private RestOperationsProvider proxyRestOperationsProvider;
 
+	@Lazy
+	@Autowired
+	private RetryRegistry proxyRetryRegistry;
+
+	@Lazy
+	@Autowired
+	private CircuitBreakerRegistry proxyCircuitBreakerRegistry;
+
+	@Lazy
+	@Autowired
+	private LoadBalancerFactory proxyLoadBalancerFactory;
+
+	@Lazy
+	@Autowired
+	private UpstreamHealthChecker proxyUpstreamHealthChecker;
+
 	@Lazy
 	@Autowired
 	private SpelExpressionEvaluator proxySpelExpressionEvaluator;
 
+	@Lazy
+	@Autowired
+	@Qualifier("proxyTaskExecutor")
+	private ExecutorService proxyTaskExecutor;
+
 	@Lazy
 	@Autowired
 	@Qualifier("proxyObjectMapper")
@@ -88,40 +129,31 @@ public class ProxyOptionsProcessor implements BeanPostProcessor {
 
 	@Lazy
 	@Autowired
-	@Qualifier("proxyRequestMappingHandlerMappingSupplier")
-	private Supplier<RequestMappingHandlerMapping> proxyRequestMappingHandlerMappingSupplier;
+	private OpenApiSpecificationCache proxySpecificationCache;
+
+	@Lazy
+	@Autowired
+	private ProxyHandlerMapping proxyHandlerMapping;
 
 	@Autowired
 	public void init(GenericApplicationContext applicationContext) {
 		this.applicationContext = applicationContext;
-		this.openApiManager = new OpenApiManager(
-				new RequestMappingRegistrationHandler(this.proxyRequestMappingHandlerMappingSupplier),
-				this.openApiProvider.orElse(() -> this.openApi), this.openApiRegistry, this.proxyServers);
+		this.openApiManager = new OpenApiManager(new RequestMappingRegistrationHandler(this.proxyHandlerMapping),
+				this.openApiProvider.orElse(() -> this.openApi), this.openApiRegistry, this.proxyServers,
+				this.proxySpecificationCache);
 		this.proxyAnnotatedBeanNames = List.of(applicationContext.getBeanNamesForAnnotation(Proxy.class));
+		this.proxySpecificationLoader = new ProxySpecificationLoader(applicationContext.getClassLoader());
+		this.proxySpecificationWatcher = new ProxySpecificationWatcher(applicationContext.getClassLoader());
 	}
 
-	@ConditionalOnMissingBean(ProxyServers.class)
-	@Bean
-	public ProxyServers proxyServers() {
-		return new ProxyServers(List.of());
-	}
-
-	@ConditionalOnMissingBean(name = "proxyObjectMapper")
-	@Bean
-	public ObjectMapper proxyObjectMapper() {
-		return new ObjectMapper();
-	}
-
-	@ConditionalOnMissingBean({ OpenAPI.class, OpenApiProvider.class })
-	@Bean
-	public OpenAPI proxyOpenApi() {
-		return new OpenAPI();
+	@Override
+	public void destroy() {
+		this.proxySpecificationWatcher.close();
 	}
 
-	@Bean
-	public Supplier<RequestMappingHandlerMapping> proxyRequestMappingHandlerMappingSupplier(
-			@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping requestMappingHandlerMapping) {
-		return () -> requestMappingHandlerMapping;
+	@Override
+	public void afterSingletonsInstantiated() {
+		this.proxySpecificationLoader.drain(this::register);
 	}
 
 	@Override
@@ -139,22 +171,92 @@ public class ProxyOptionsProcessor implements BeanPostProcessor {
 	}
 
 	protected void process(ProxyOptions proxyOptions, Object proxyOptionsBean) throws BeansException {
-		var trimProxyOptions = new TrimProxyOptions(proxyOptions);
-		var proxyResourceLoader = new ProxyResourceLoader(trimProxyOptions, this.applicationContext,
+		var resolvedProxyOptions = ResolvedProxyOptions.of(proxyOptions);
+		var proxyResourceLoader = new ProxyResourceLoader(resolvedProxyOptions, this.applicationContext,
 				this.proxyRestOperationsProvider);
-		this.openApiManager.parse(trimProxyOptions, proxyResourceLoader, (po, oa) -> buildProxyClient(po, oa))
-			.registerPathMappings(proxyOptionsBean);
+		// resolved on the calling thread: the background loaders must not race on
+		// creating it
+		this.proxySpecificationCache.getDirectory();
+		if (resolvedProxyOptions.isLazy()) {
+			register(resolvedProxyOptions, proxyOptionsBean, null);
+			this.proxySpecificationLoader.loadInBackground(resolvedProxyOptions, proxyOptionsBean,
+					() -> this.openApiManager.loadSpecification(resolvedProxyOptions, proxyResourceLoader),
+					this.proxyTaskExecutor, this::register);
+		}
+		else if (this.proxySpecificationLoader.isDrained()) {
+			register(resolvedProxyOptions, proxyOptionsBean,
+					this.openApiManager.loadSpecification(resolvedProxyOptions, proxyResourceLoader));
+		}
+		else {
+			this.proxySpecificationLoader.load(resolvedProxyOptions, proxyOptionsBean,
+					() -> this.openApiManager.loadSpecification(resolvedProxyOptions, proxyResourceLoader));
+		}
+	}
+
+	protected void register(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI openApi) {
+		var servers = Optional.ofNullable(openApi).map((oa) -> oa.getServers()).orElse(null);
+		synchronized (this.openApiManager) {
+			var openApiManager = this.openApiManager
+				.register(proxyOptions, openApi, (po, oa) -> buildProxyClient(po, oa))
+				.registerPathMappings(proxyOptionsBean);
+			if (proxyOptions.isLazy() && openApi != null) {
+				// the specific routes are in place, the temporary pass-through can go
+				openApiManager.unregisterCatchAllMapping();
+			}
+		}
+		if (openApi != null && proxyOptions.getReloadInterval() != null) {
+			var proxyResourceLoader = new ProxyResourceLoader(proxyOptions, this.applicationContext,
+					this.proxyRestOperationsProvider);
+			this.proxySpecificationWatcher.watch(proxyOptions, proxyOptionsBean, proxyResourceLoader, openApi, servers,
+					() -> this.openApiManager.loadSpecification(proxyOptions, proxyResourceLoader), this::reload);
+		}
+	}
+
+	protected void reload(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI previousOpenApi,
+			List<Server> previousServers, OpenAPI openApi) {
+		synchronized (this.openApiManager) {
+			this.openApiManager.reload(proxyOptions, proxyOptionsBean, previousOpenApi, previousServers, openApi,
+					(po, oa) -> buildProxyClient(po, oa));
+		}
 	}
 
 	protected ProxyClient buildProxyClient(ProxyOptions proxyOptions, OpenAPI openApi) {
-		var target = getTarget(openApi, proxyOptions);
-		var restOperations = this.proxyRestOperationsProvider.getRestOperations(target);
-		return new ProxyClient(this.proxyRestOperationsProvider.isRetryEnabled(target), this.proxyObjectMapper,
-				restOperations,
-				() -> new ProxyHttpServletRequest(
-						((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest(),
-						proxyOptions.getPrefix()),
-				proxyOptions.getIgnoredRequestHeaders(), proxyOptions.getIgnoredResponseHeaders());
+		var targets = getTargets(openApi, proxyOptions);
+		// a lazy proxy swapping its catch-all for the specification, or a reload that
+		// leaves the upstream alone, keeps the client, balancer and health probes
+		return this.proxyClients.compute(proxyOptions.getPrefix(), (prefix, existing) -> {
+			if (existing != null && existing.targets().equals(targets)) {
+				return existing;
+			}
+			var proxyClient = new TargetedProxyClient(targets, buildProxyClient(proxyOptions, targets));
+			// every route is re-registered with the new client, the old one is retired
+			Optional.ofNullable(existing)
+				.ifPresent((ex) -> this.proxyUpstreamHealthChecker.unregister(ex.proxyClient().getLoadBalancer()));
+			return proxyClient;
+		}).proxyClient();
+	}
+
+	private ProxyClient buildProxyClient(ProxyOptions proxyOptions, List<String> targets) {
+		var target = String.join(",", targets);
+		var loadBalancer = this.proxyLoadBalancerFactory.getLoadBalancer(proxyOptions.getLoadBalancer(),
+				targets.stream()
+					.map((url) -> new UpstreamInstance(url,
+							this.proxyRestOperationsProvider.getRestOperations(url, proxyOptions.getConnectionPool())))
+					.toList());
+		if (proxyOptions.getOutlierDetection().enabled()) {
+			loadBalancer.setOutlierDetector(new OutlierDetector(proxyOptions.getOutlierDetection()));
+		}
+		this.proxyUpstreamHealthChecker.register(loadBalancer, proxyOptions.getHealthCheck());
+		var retryPolicy = RetryPolicy.of(proxyOptions.getRetry(),
+				this.proxyRestOperationsProvider.isRetryEnabled(target));
+		return new ProxyClient(retryPolicy, this.proxyRetryRegistry.getRetrier(target, proxyOptions.getRetry()),
+				this.proxyCircuitBreakerRegistry.getCircuitBreaker(target, proxyOptions.getCircuitBreaker()),
+				new ResponseCache(proxyOptions.getResponseCache(), this.proxyTaskExecutor), new RequestCoalescer(),
+				proxyOptions.isStreaming(), proxyOptions.isFastLane(), proxyOptions.isRawPassThrough(),
+				proxyOptions.isAsync() ? this.proxyTaskExecutor : null,
+				new ReplayableBodyStore(proxyOptions.getRequestBuffer()), this.proxyObjectMapper, loadBalancer,
+				proxyOptions.getPrefix(), HeaderFilter.forRequests(proxyOptions.getIgnoredRequestHeaders()),
+				HeaderFilter.forResponses(proxyOptions.getIgnoredResponseHeaders()));
 	}
 
 	protected String getTarget(OpenAPI openApi, ProxyOptions proxyOptions) {
@@ -165,44 +267,22 @@ public class ProxyOptionsProcessor implements BeanPostProcessor {
 				.orElseThrow(() -> new IllegalArgumentException("No target URL found")));
 	}
 
-	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-	private static final class TrimProxyOptions implements ProxyOptions {
-
-		private final ProxyOptions proxyOptions;
-
-		@Override
-		public String getSpecification() {
-			return trim(this.proxyOptions.getSpecification());
+	protected List<String> getTargets(OpenAPI openApi, ProxyOptions proxyOptions) {
+		var loadBalancer = proxyOptions.getLoadBalancer();
+		if (!loadBalancer.targets().isEmpty()) {
+			return loadBalancer.targets();
 		}
-
-		@Override
-		public String getPrefix() {
-			return trim(this.proxyOptions.getPrefix());
-		}
-
-		@Override
-		public String getTarget() {
-			return trim(this.proxyOptions.getTarget());
-		}
-
-		@Override
-		public List<String> getIgnoredRequestHeaders() {
-			return Optional.ofNullable(this.proxyOptions.getIgnoredRequestHeaders())
-				.map((headers) -> headers.stream().map(TrimProxyOptions::trim).toList())
-				.orElse(null);
-		}
-
-		@Override
-		public List<String> getIgnoredResponseHeaders() {
-			return Optional.ofNullable(this.proxyOptions.getIgnoredResponseHeaders())
-				.map((headers) -> headers.stream().map(TrimProxyOptions::trim).toList())
-				.orElse(null);
-		}
-
-		private static String trim(String value) {
-			return Optional.ofNullable(value).map((v) -> v.trim()).orElse(null);
+		if (loadBalancer.strategy() == LoadBalancingStrategy.FIRST
+				|| Optional.ofNullable(proxyOptions.getTarget()).filter((target) -> !target.isBlank()).isPresent()) {
+			return List.of(getTarget(openApi, proxyOptions));
 		}
+		return Optional.ofNullable(openApi)
+			.map((oa) -> oa.getServers().stream().map((server) -> server.getUrl()).distinct().toList())
+			.filter((urls) -> !urls.isEmpty())
+			.orElseThrow(() -> new IllegalArgumentException("No target URL found"));
+	}
 
+	private record TargetedProxyClient(List<String> targets, ProxyClient proxyClient) {
 	}
 
 }
@@ -22,15 +22,20 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DescriptiveResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import com.swisscom.openapi.reverseproxy.client.RestOperationsProvider;
 
-import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@RequiredArgsConstructor
 public class ProxyResourceLoader implements ResourceLoader {
 
 	private final ProxyOptions proxyOptions;
@@ -41,15 +46,37 @@ public class ProxyResourceLoader implements ResourceLoader {
 
 	@Override
 	public Resource getResource(String location) {
+		return Optional.ofNullable(getRestEntity(location, null))
+			.map((entity) -> entity.getBody())
+			.orElseGet(() -> isRemote(location)
+					// unreachable: a read failure, not inline specification content
+					? new DescriptiveResource(location)
+					: Optional.ofNullable(this.resourceLoader.getResource(location))
+						.filter((resource) -> resource.exists())
+						.orElseGet(() -> isTargetRelative(location)
+								// the target is unreachable: same as an absolute location
+								? new DescriptiveResource(location)
+								: new ByteArrayResource(location.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	protected boolean isRemote(String location) {
+		return location.startsWith("http://") || location.startsWith("https://");
+	}
+
+	protected boolean isTargetRelative(String location) {
+		return location.startsWith("/")
+				&& Optional.ofNullable(this.proxyOptions.getTarget()).filter((target) -> !target.isBlank()).isPresent();
+	}
+
+	public ResponseEntity<Resource> getRestEntity(String location, String entityTag) {
 		return Optional.ofNullable(URI.create(location))
 			.filter((uri) -> List.of("http", "https").contains(Optional.ofNullable(uri.getScheme()).orElse("")))
-			.map((uri) -> Optional.ofNullable(getRestResource(uri.getScheme().concat("://").concat(uri.getAuthority()),
+			.map((uri) -> Optional.ofNullable(getRestEntity(uri.getScheme().concat("://").concat(uri.getAuthority()),
 					uri.getPath()
-						.concat(Optional.ofNullable(uri.getQuery()).map((query) -> "?".concat(query)).orElse("")))))
-			.orElseGet(() -> Optional.ofNullable(getRestResource(this.proxyOptions.getTarget(), location)))
-			.orElseGet(() -> Optional.ofNullable(this.resourceLoader.getResource(location))
-				.filter((resource) -> resource.exists())
-				.orElseGet(() -> new ByteArrayResource(location.getBytes(StandardCharsets.UTF_8))));
+						.concat(Optional.ofNullable(uri.getQuery()).map((query) -> "?".concat(query)).orElse("")),
+					entityTag)))
+			.orElseGet(() -> Optional.ofNullable(getRestEntity(this.proxyOptions.getTarget(), location, entityTag)))
+			.orElse(null);
 	}
 
 	@Override
@@ -58,8 +85,18 @@ public class ProxyResourceLoader implements ResourceLoader {
 	}
 
 	protected Resource getRestResource(String baseUrl, String path) {
+		return Optional.ofNullable(getRestEntity(baseUrl, path, null)).map((entity) -> entity.getBody()).orElse(null);
+	}
+
+	protected ResponseEntity<Resource> getRestEntity(String baseUrl, String path, String entityTag) {
 		try {
-			return this.restOperationsProvider.getRestOperations(baseUrl).getForObject(path, Resource.class);
+			var headers = new HttpHeaders();
+			Optional.ofNullable(entityTag).ifPresent((etag) -> headers.setIfNoneMatch(etag));
+			return Optional
+				.of(this.restOperationsProvider.getRestOperations(baseUrl, this.proxyOptions.getConnectionPool())
+					.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), Resource.class))
+				.filter((entity) -> entity.getBody() != null || entity.getStatusCode() == HttpStatus.NOT_MODIFIED)
+				.orElse(null);
 		}
 		catch (Exception ex) {
 			return null;
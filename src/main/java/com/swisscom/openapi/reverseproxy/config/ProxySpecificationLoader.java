@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.FatalBeanException;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.apachecommons.CommonsLog;
+
+@CommonsLog
+@RequiredArgsConstructor
+class ProxySpecificationLoader {
+
+	private static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	private static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(1);
+
+	private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+	private final ClassLoader classLoader;
+
+	private final List<PendingSpecification> pendingSpecifications = new ArrayList<>();
+
+	private ForkJoinPool forkJoinPool;
+
+	private boolean drained;
+
+	synchronized boolean isDrained() {
+		return this.drained;
+	}
+
+	synchronized void load(ProxyOptions proxyOptions, Object proxyOptionsBean, Supplier<OpenAPI> specificationLoader) {
+		if (this.forkJoinPool == null) {
+			var threadCount = new AtomicInteger();
+			this.forkJoinPool = new ForkJoinPool(PARALLELISM, (pool) -> {
+				var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("proxy-spec-" + threadCount.incrementAndGet());
+				// resource loading and $ref resolution go through the context class
+				// loader
+				thread.setContextClassLoader(this.classLoader);
+				return thread;
+			}, null, false);
+		}
+		this.pendingSpecifications.add(new PendingSpecification(proxyOptions, proxyOptionsBean,
+				CompletableFuture.supplyAsync(specificationLoader, this.forkJoinPool)));
+	}
+
+	void loadInBackground(ProxyOptions proxyOptions, Object proxyOptionsBean, Supplier<OpenAPI> specificationLoader,
+			Executor executor, Registration registration) {
+		loadInBackground(proxyOptions, proxyOptionsBean, specificationLoader, executor, registration,
+				INITIAL_RETRY_DELAY);
+	}
+
+	private void loadInBackground(ProxyOptions proxyOptions, Object proxyOptionsBean,
+			Supplier<OpenAPI> specificationLoader, Executor executor, Registration registration, Duration retryDelay) {
+		try {
+			CompletableFuture.supplyAsync(specificationLoader, executor).whenComplete((openApi, ex) -> {
+				if (ex != null) {
+					// the catch-all mapping registered meanwhile keeps serving the prefix
+					log.warn("Loading specification [" + proxyOptions.getSpecification() + "] failed, retrying in "
+							+ retryDelay, ex);
+					retryInBackground(proxyOptions, proxyOptionsBean, specificationLoader, executor, registration,
+							retryDelay);
+					return;
+				}
+				try {
+					Optional.ofNullable(openApi)
+						.ifPresent((oa) -> registration.register(proxyOptions, proxyOptionsBean, oa));
+				}
+				catch (RuntimeException rex) {
+					log.error("Registering specification [" + proxyOptions.getSpecification() + "] failed", rex);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			if (!(executor instanceof ExecutorService) || !((ExecutorService) executor).isShutdown()) {
+				// saturated rather than shutting down
+				retryInBackground(proxyOptions, proxyOptionsBean, specificationLoader, executor, registration,
+						retryDelay);
+			}
+		}
+	}
+
+	private void retryInBackground(ProxyOptions proxyOptions, Object proxyOptionsBean,
+			Supplier<OpenAPI> specificationLoader, Executor executor, Registration registration, Duration retryDelay) {
+		var nextRetryDelay = retryDelay.multipliedBy(2);
+		CompletableFuture.delayedExecutor(retryDelay.toMillis(), TimeUnit.MILLISECONDS)
+			.execute(() -> loadInBackground(proxyOptions, proxyOptionsBean, specificationLoader, executor, registration,
+					(nextRetryDelay.compareTo(MAX_RETRY_DELAY) > 0) ? MAX_RETRY_DELAY : nextRetryDelay));
+	}
+
+	synchronized void drain(Registration registration) {
+		try {
+			// joined in post-processing order: route registration and merges stay
+			// deterministic
+			for (var pending : this.pendingSpecifications) {
+				registration.register(pending.proxyOptions(), pending.proxyOptionsBean(), join(pending.openApi()));
+			}
+		}
+		finally {
+			this.pendingSpecifications.clear();
+			this.drained = true;
+			if (this.forkJoinPool != null) {
+				this.forkJoinPool.shutdown();
+				this.forkJoinPool = null;
+			}
+		}
+	}
+
+	private static OpenAPI join(CompletableFuture<OpenAPI> openApi) {
+		try {
+			return openApi.join();
+		}
+		catch (CompletionException ex) {
+			throw (ex.getCause() instanceof RuntimeException) ? (RuntimeException) ex.getCause()
+					: new FatalBeanException(ex.getCause().getMessage(), ex.getCause());
+		}
+	}
+
+	interface Registration {
+
+		void register(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI openApi);
+
+	}
+
+	private record PendingSpecification(ProxyOptions proxyOptions, Object proxyOptionsBean,
+			CompletableFuture<OpenAPI> openApi) {
+
+	}
+
+}
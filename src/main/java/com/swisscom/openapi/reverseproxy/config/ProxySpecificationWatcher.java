@@ -0,0 +1,235 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.servers.Server;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.apachecommons.CommonsLog;
+
+@CommonsLog
+@RequiredArgsConstructor
+class ProxySpecificationWatcher {
+
+	private final ClassLoader classLoader;
+
+	private final List<WatchedSpecification> watchedSpecifications = new CopyOnWriteArrayList<>();
+
+	private final Set<Path> watchedDirectories = new HashSet<>();
+
+	private ScheduledExecutorService scheduler;
+
+	private WatchService watchService;
+
+	synchronized void watch(ProxyOptions proxyOptions, Object proxyOptionsBean, ProxyResourceLoader proxyResourceLoader,
+			OpenAPI openApi, List<Server> servers, Supplier<OpenAPI> specificationLoader, Reload reload) {
+		var interval = proxyOptions.getReloadInterval().toMillis();
+		var watched = new WatchedSpecification(proxyOptions, proxyOptionsBean, proxyResourceLoader, specificationLoader,
+				reload);
+		watched.openApi = openApi;
+		watched.servers = servers;
+		watched.file = getFile(proxyResourceLoader.getResource(proxyOptions.getSpecification()));
+		if (watched.file != null) {
+			registerDirectory(watched.file.getParent());
+		}
+		this.watchedSpecifications.add(watched);
+		getScheduler().scheduleWithFixedDelay(() -> check(watched), 0, interval, TimeUnit.MILLISECONDS);
+	}
+
+	synchronized void close() {
+		Optional.ofNullable(this.scheduler).ifPresent((scheduler) -> scheduler.shutdownNow());
+		try {
+			if (this.watchService != null) {
+				this.watchService.close();
+			}
+		}
+		catch (IOException ex) {
+			// nothing left to release
+		}
+	}
+
+	protected void check(WatchedSpecification watched) {
+		if (watched.unwatchable) {
+			return;
+		}
+		try {
+			var content = (watched.file != null) ? readChangedFile(watched) : readChangedRemote(watched);
+			if (content == null) {
+				return;
+			}
+			var hash = DigestUtils.md5DigestAsHex(content);
+			if (watched.hash == null) {
+				// first check: the loaded specification is the baseline
+				watched.hash = hash;
+			}
+			else if (!hash.equals(watched.hash)) {
+				var openApi = watched.specificationLoader.get();
+				var servers = openApi.getServers();
+				watched.reload.reload(watched.proxyOptions, watched.proxyOptionsBean, watched.openApi, watched.servers,
+						openApi);
+				watched.openApi = openApi;
+				watched.servers = servers;
+				watched.hash = hash;
+			}
+		}
+		catch (RuntimeException | IOException ex) {
+			// the routes of the last good specification stay in place, the next check
+			// retries
+			watched.dirty = (watched.file != null);
+			watched.entityTag = null;
+			log.warn("Reloading specification [" + watched.proxyOptions.getSpecification() + "] failed", ex);
+		}
+	}
+
+	protected byte[] readChangedFile(WatchedSpecification watched) throws IOException {
+		pollFileEvents();
+		if (watched.hash != null && !watched.dirty) {
+			return null;
+		}
+		watched.dirty = false;
+		return Files.readAllBytes(watched.file);
+	}
+
+	protected byte[] readChangedRemote(WatchedSpecification watched) throws IOException {
+		var entity = watched.proxyResourceLoader.getRestEntity(watched.proxyOptions.getSpecification(),
+				watched.entityTag);
+		if (entity == null) {
+			// neither a file nor a remote resource: nothing that can change
+			watched.unwatchable = (watched.hash == null);
+			return null;
+		}
+		if (entity.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+			return null;
+		}
+		watched.entityTag = entity.getHeaders().getETag();
+		return entity.getBody().getContentAsByteArray();
+	}
+
+	private synchronized void pollFileEvents() {
+		try {
+			for (var key = this.watchService.poll(); key != null; key = this.watchService.poll()) {
+				var directory = (Path) key.watchable();
+				for (var event : key.pollEvents()) {
+					if (event.context() instanceof Path) {
+						var changed = directory.resolve((Path) event.context());
+						this.watchedSpecifications.stream()
+							.filter((watched) -> changed.equals(watched.file))
+							.forEach((watched) -> watched.dirty = true);
+					}
+				}
+				key.reset();
+			}
+		}
+		catch (ClosedWatchServiceException ex) {
+			// shutting down
+		}
+	}
+
+	private void registerDirectory(Path directory) {
+		try {
+			if (this.watchService == null) {
+				this.watchService = FileSystems.getDefault().newWatchService();
+			}
+			if (this.watchedDirectories.add(directory)) {
+				directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+	}
+
+	private ScheduledExecutorService getScheduler() {
+		if (this.scheduler == null) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+				var thread = new Thread(runnable, "proxy-spec-watcher");
+				thread.setDaemon(true);
+				thread.setContextClassLoader(this.classLoader);
+				return thread;
+			});
+		}
+		return this.scheduler;
+	}
+
+	private static Path getFile(Resource resource) {
+		try {
+			return resource.isFile() ? resource.getFile().toPath().toAbsolutePath() : null;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	interface Reload {
+
+		void reload(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI previousOpenApi,
+				List<Server> previousServers, OpenAPI openApi);
+
+	}
+
+	@RequiredArgsConstructor
+	protected static final class WatchedSpecification {
+
+		private final ProxyOptions proxyOptions;
+
+		private final Object proxyOptionsBean;
+
+		private final ProxyResourceLoader proxyResourceLoader;
+
+		private final Supplier<OpenAPI> specificationLoader;
+
+		private final Reload reload;
+
+		private Path file;
+
+		private volatile boolean dirty;
+
+		private boolean unwatchable;
+
+		private String entityTag;
+
+		private String hash;
+
+		private OpenAPI openApi;
+
+		private List<Server> servers;
+
+	}
+
+}
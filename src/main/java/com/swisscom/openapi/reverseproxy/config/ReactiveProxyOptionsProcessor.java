@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.config;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.swisscom.openapi.reverseproxy.annotation.Proxy;
+import com.swisscom.openapi.reverseproxy.client.RestOperationsProvider;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiProvider;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiRegistry;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiSpecificationCache;
+import com.swisscom.openapi.reverseproxy.reactive.ReactiveOpenApiManager;
+import com.swisscom.openapi.reverseproxy.reactive.ReactiveProxyClient;
+import com.swisscom.openapi.reverseproxy.reactive.ReactiveProxyRouterFunction;
+import com.swisscom.openapi.reverseproxy.util.SpelExpressionEvaluator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.servers.Server;
+
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@Component
+public class ReactiveProxyOptionsProcessor implements BeanPostProcessor, SmartInitializingSingleton, DisposableBean {
+
+	protected GenericApplicationContext applicationContext;
+
+	private List<String> proxyAnnotatedBeanNames;
+
+	private ReactiveOpenApiManager openApiManager;
+
+	private ProxySpecificationLoader proxySpecificationLoader;
+
+	private ProxySpecificationWatcher proxySpecificationWatcher;
+
+	@Lazy
+	@Autowired
+	private RestOperationsProvider proxyRestOperationsProvider;
+
+	@Lazy
+	@Autowired
+	private SpelExpressionEvaluator proxySpelExpressionEvaluator;
+
+	@Autowired
+	private ObjectProvider<WebClient.Builder> webClientBuilder;
+
+	@Lazy
+	@Autowired
+	@Qualifier("proxyTaskExecutor")
+	private ExecutorService proxyTaskExecutor;
+
+	@Lazy
+	@Autowired
+	private OpenAPI openApi;
+
+	@Lazy
+	@Autowired
+	private Optional<OpenApiProvider> openApiProvider;
+
+	@Lazy
+	@Autowired
+	private ProxyServers proxyServers;
+
+	@Lazy
+	@Autowired
+	private OpenApiRegistry openApiRegistry;
+
+	@Lazy
+	@Autowired
+	private OpenApiSpecificationCache proxySpecificationCache;
+
+	@Lazy
+	@Autowired
+	private ReactiveProxyRouterFunction proxyRouterFunction;
+
+	@Autowired
+	public void init(GenericApplicationContext applicationContext) {
+		this.applicationContext = applicationContext;
+		this.openApiManager = new ReactiveOpenApiManager(this.proxyRouterFunction,
+				this.openApiProvider.orElse(() -> this.openApi), this.openApiRegistry, this.proxyServers,
+				this.proxySpecificationCache);
+		this.proxyAnnotatedBeanNames = List.of(applicationContext.getBeanNamesForAnnotation(Proxy.class));
+		this.proxySpecificationLoader = new ProxySpecificationLoader(applicationContext.getClassLoader());
+		this.proxySpecificationWatcher = new ProxySpecificationWatcher(applicationContext.getClassLoader());
+	}
+
+	@Override
+	public void destroy() {
+		this.proxySpecificationWatcher.close();
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		this.proxySpecificationLoader.drain(this::register);
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (this.applicationContext != null) {
+			if (bean instanceof ProxyOptions) {
+				process((ProxyOptions) bean, bean);
+			}
+			else if (this.proxyAnnotatedBeanNames.contains(beanName)) {
+				process(new AnnotationProxyOptions(this.proxySpelExpressionEvaluator,
+						this.applicationContext.findAnnotationOnBean(beanName, Proxy.class), beanName), bean);
+			}
+		}
+		return bean;
+	}
+
+	protected void process(ProxyOptions proxyOptions, Object proxyOptionsBean) throws BeansException {
+		var resolvedProxyOptions = ResolvedProxyOptions.of(proxyOptions);
+		var proxyResourceLoader = new ProxyResourceLoader(resolvedProxyOptions, this.applicationContext,
+				this.proxyRestOperationsProvider);
+		// resolved on the calling thread: the background loaders must not race on
+		// creating it
+		this.proxySpecificationCache.getDirectory();
+		if (resolvedProxyOptions.isLazy()) {
+			register(resolvedProxyOptions, proxyOptionsBean, null);
+			this.proxySpecificationLoader.loadInBackground(resolvedProxyOptions, proxyOptionsBean,
+					() -> this.openApiManager.loadSpecification(resolvedProxyOptions, proxyResourceLoader),
+					this.proxyTaskExecutor, this::register);
+		}
+		else if (this.proxySpecificationLoader.isDrained()) {
+			register(resolvedProxyOptions, proxyOptionsBean,
+					this.openApiManager.loadSpecification(resolvedProxyOptions, proxyResourceLoader));
+		}
+		else {
+			this.proxySpecificationLoader.load(resolvedProxyOptions, proxyOptionsBean,
+					() -> this.openApiManager.loadSpecification(resolvedProxyOptions, proxyResourceLoader));
+		}
+	}
+
+	protected void register(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI openApi) {
+		var servers = Optional.ofNullable(openApi).map((oa) -> oa.getServers()).orElse(null);
+		synchronized (this.openApiManager) {
+			var openApiManager = this.openApiManager
+				.register(proxyOptions, openApi, (po, oa) -> buildProxyClient(po, oa))
+				.registerPathMappings(proxyOptionsBean);
+			if (proxyOptions.isLazy() && openApi != null) {
+				// the specific routes are in place, the temporary pass-through can go
+				openApiManager.unregisterCatchAllMapping();
+			}
+		}
+		if (openApi != null && proxyOptions.getReloadInterval() != null) {
+			var proxyResourceLoader = new ProxyResourceLoader(proxyOptions, this.applicationContext,
+					this.proxyRestOperationsProvider);
+			this.proxySpecificationWatcher.watch(proxyOptions, proxyOptionsBean, proxyResourceLoader, openApi, servers,
+					() -> this.openApiManager.loadSpecification(proxyOptions, proxyResourceLoader), this::reload);
+		}
+	}
+
+	protected void reload(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI previousOpenApi,
+			List<Server> previousServers, OpenAPI openApi) {
+		synchronized (this.openApiManager) {
+			this.openApiManager.reload(proxyOptions, proxyOptionsBean, previousOpenApi, previousServers, openApi,
+					(po, oa) -> buildProxyClient(po, oa));
+		}
+	}
+
+	protected ReactiveProxyClient buildProxyClient(ProxyOptions proxyOptions, OpenAPI openApi) {
+		return new ReactiveProxyClient(this.webClientBuilder.getIfAvailable(WebClient::builder).build(),
+				getTarget(openApi, proxyOptions), proxyOptions.getPrefix(), proxyOptions.getIgnoredRequestHeaders(),
+				proxyOptions.getIgnoredResponseHeaders());
+	}
+
+	protected String getTarget(OpenAPI openApi, ProxyOptions proxyOptions) {
+		return Optional.ofNullable(proxyOptions.getTarget())
+			.filter((target) -> !target.isBlank())
+			.orElseGet(() -> Optional.ofNullable(openApi)
+				.map((oa) -> oa.getServers().stream().map((server) -> server.getUrl()).findFirst().orElse(null))
+				.orElseThrow(() -> new IllegalArgumentException("No target URL found")));
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+record ResolvedProxyOptions(String specification, String prefix, String target, List<String> ignoredRequestHeaders,
+		List<String> ignoredResponseHeaders, ConnectionPoolOptions connectionPool, boolean streaming, boolean async,
+		boolean fastLane, boolean lazy, boolean rawPassThrough, Duration reloadInterval,
+		RequestBufferOptions requestBuffer, RetryOptions retry, CircuitBreakerOptions circuitBreaker,
+		LoadBalancerOptions loadBalancer, HealthCheckOptions healthCheck, OutlierDetectionOptions outlierDetection,
+		ResponseCacheOptions responseCache) implements ProxyOptions {
+
+	static ResolvedProxyOptions of(ProxyOptions proxyOptions) {
+		return new ResolvedProxyOptions(trim(proxyOptions.getSpecification()), trim(proxyOptions.getPrefix()),
+				trim(proxyOptions.getTarget()), trim(proxyOptions.getIgnoredRequestHeaders()),
+				trim(proxyOptions.getIgnoredResponseHeaders()),
+				Optional.ofNullable(proxyOptions.getConnectionPool()).orElse(ConnectionPoolOptions.DEFAULT),
+				proxyOptions.isStreaming(), proxyOptions.isAsync(), proxyOptions.isFastLane(), proxyOptions.isLazy(),
+				proxyOptions.isRawPassThrough(), proxyOptions.getReloadInterval(),
+				Optional.ofNullable(proxyOptions.getRequestBuffer()).orElse(RequestBufferOptions.DEFAULT),
+				Optional.ofNullable(proxyOptions.getRetry()).orElse(RetryOptions.DEFAULT),
+				Optional.ofNullable(proxyOptions.getCircuitBreaker()).orElse(CircuitBreakerOptions.DEFAULT),
+				Optional.ofNullable(proxyOptions.getLoadBalancer())
+					.map((lb) -> new LoadBalancerOptions(
+							Optional.ofNullable(lb.strategy()).orElse(LoadBalancerOptions.DEFAULT.strategy()),
+							Optional.ofNullable(lb.targets())
+								.map((targets) -> targets.stream()
+									.map(ResolvedProxyOptions::trim)
+									.filter((target) -> !target.isEmpty())
+									.toList())
+								.orElse(List.of()),
+							trim(lb.hashKey())))
+					.orElse(LoadBalancerOptions.DEFAULT),
+				Optional.ofNullable(proxyOptions.getHealthCheck())
+					.map((hc) -> new HealthCheckOptions(trim(hc.path()), hc.interval(), hc.timeout(),
+							hc.unhealthyThreshold(), hc.healthyThreshold()))
+					.orElse(HealthCheckOptions.DEFAULT),
+				Optional.ofNullable(proxyOptions.getOutlierDetection()).orElse(OutlierDetectionOptions.DEFAULT),
+				Optional.ofNullable(proxyOptions.getResponseCache()).orElse(ResponseCacheOptions.DEFAULT));
+	}
+
+	@Override
+	public String getSpecification() {
+		return this.specification;
+	}
+
+	@Override
+	public String getPrefix() {
+		return this.prefix;
+	}
+
+	@Override
+	public String getTarget() {
+		return this.target;
+	}
+
+	@Override
+	public List<String> getIgnoredRequestHeaders() {
+		return this.ignoredRequestHeaders;
+	}
+
+	@Override
+	public List<String> getIgnoredResponseHeaders() {
+		return this.ignoredResponseHeaders;
+	}
+
+	@Override
+	public ConnectionPoolOptions getConnectionPool() {
+		return this.connectionPool;
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
+	@Override
+	public boolean isAsync() {
+		return this.async;
+	}
+
+	@Override
+	public boolean isFastLane() {
+		return this.fastLane;
+	}
+
+	@Override
+	public boolean isLazy() {
+		return this.lazy;
+	}
+
+	@Override
+	public boolean isRawPassThrough() {
+		return this.rawPassThrough;
+	}
+
+	@Override
+	public Duration getReloadInterval() {
+		return this.reloadInterval;
+	}
+
+	@Override
+	public RequestBufferOptions getRequestBuffer() {
+		return this.requestBuffer;
+	}
+
+	@Override
+	public RetryOptions getRetry() {
+		return this.retry;
+	}
+
+	@Override
+	public CircuitBreakerOptions getCircuitBreaker() {
+		return this.circuitBreaker;
+	}
+
+	@Override
+	public LoadBalancerOptions getLoadBalancer() {
+		return this.loadBalancer;
+	}
+
+	@Override
+	public HealthCheckOptions getHealthCheck() {
+		return this.healthCheck;
+	}
+
+	@Override
+	public OutlierDetectionOptions getOutlierDetection() {
+		return this.outlierDetection;
+	}
+
+	@Override
+	public ResponseCacheOptions getResponseCache() {
+		return this.responseCache;
+	}
+
+	private static String trim(String value) {
+		return Optional.ofNullable(value).map((v) -> v.trim()).orElse(null);
+	}
+
+	private static List<String> trim(List<String> values) {
+		return Optional.ofNullable(values)
+			.map((list) -> list.stream().map(ResolvedProxyOptions::trim).toList())
+			.orElse(null);
+	}
+
+}
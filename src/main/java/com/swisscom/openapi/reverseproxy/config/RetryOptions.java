@@ -0,0 +1,29 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.config;
+
+import java.time.Duration;
+import java.util.List;
+
+public record RetryOptions(boolean enabled, int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+		double multiplier, double jitter, boolean retryOnConnectFailure, List<Integer> retryStatuses,
+		double budgetRatio, int budgetMinRetriesPerSecond) {
+
+	public static final RetryOptions DEFAULT = new RetryOptions(false, 3, Duration.ofMillis(100), Duration.ofSeconds(2),
+			2.0, 0.5, true, List.of(502, 503, 504), 0.2, 10);
+
+}
@@ -16,9 +16,13 @@
 
 package com.swisscom.openapi.reverseproxy.config;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
 import com.swisscom.openapi.reverseproxy.util.SpelExpressionEvaluator;
 
 public abstract class SpelEvaluatedProxyOptions implements ProxyOptions {
@@ -53,6 +57,24 @@ public abstract class SpelEvaluatedProxyOptions implements ProxyOptions {
 		this.evaluator = evaluator;
 	}
 
+	protected String evaluate(String value) {
+		return this.evaluator.evaluate(value);
+	}
+
+	protected Duration evaluateDuration(String duration) {
+		return Optional.ofNullable(this.evaluator.evaluate(duration))
+			.filter((value) -> !value.isBlank())
+			.map((value) -> DurationStyle.detectAndParse(value.trim()))
+			.orElse(null);
+	}
+
+	protected DataSize evaluateDataSize(String dataSize) {
+		return Optional.ofNullable(this.evaluator.evaluate(dataSize))
+			.filter((value) -> !value.isBlank())
+			.map((value) -> DataSize.parse(value.trim()))
+			.orElse(null);
+	}
+
 	protected abstract String specification();
 
 	protected abstract String prefix();
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.openapi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import com.swisscom.openapi.reverseproxy.config.ProxyOptions;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.servers.Server;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public abstract class AbstractOpenApiManager<C> {
+
+	private final OpenApiProvider openApiProvider;
+
+	private final OpenApiRegistry openApiRegistry;
+
+	private final List<Server> proxyServers;
+
+	private final OpenApiSpecificationCache specificationCache;
+
+	private final Map<String, OpenAPI> documents = new ConcurrentHashMap<>();
+
+	protected C proxyClient;
+
+	protected ProxyOptions proxyOptions;
+
+	protected OpenAPI openApi;
+
+	private static final ParseOptions OPENAPI_PARSE_OPTION = new ParseOptions() {
+		{
+			setResolve(true);
+		}
+	};
+
+	public AbstractOpenApiManager<C> parse(ProxyOptions proxyOptions, ResourceLoader proxyResourceLoader,
+			ProxyClientBuilder<C> proxyClientBuilder) {
+		return register(proxyOptions, loadSpecification(proxyOptions, proxyResourceLoader), proxyClientBuilder);
+	}
+
+	public OpenAPI loadSpecification(ProxyOptions proxyOptions, ResourceLoader proxyResourceLoader) {
+		return Optional.ofNullable(proxyOptions.getSpecification())
+			.filter((spec) -> !spec.isBlank())
+			.map((spec) -> parseSpecification(proxyOptions, proxyResourceLoader))
+			.orElse(null);
+	}
+
+	public AbstractOpenApiManager<C> register(ProxyOptions proxyOptions, OpenAPI openApi,
+			ProxyClientBuilder<C> proxyClientBuilder) {
+		this.proxyOptions = proxyOptions;
+		this.openApi = openApi;
+		if (this.openApi != null) {
+			this.openApiRegistry.add(proxyOptions.getPrefix(), this.openApi);
+			var rootOpenApi = this.openApiProvider.getOpenAPI();
+			var currentApi = Optional.ofNullable(rootOpenApi)
+				.orElseGet(() -> Optional.ofNullable(this.proxyOptions.getPrefix())
+					.filter((prefix) -> !prefix.isBlank())
+					.map((prefix) -> this.openApi)
+					.orElse(null));
+			if (this.openApi == currentApi) {
+				if (rootOpenApi == null) {
+					var prefix = this.proxyOptions.getPrefix();
+					this.documents.put(prefix, this.openApi);
+					for (var yaml : List.of(false, true)) {
+						var document = new OpenApiDocument(prefix, () -> this.documents.get(prefix), yaml);
+						this.openApiRegistry.addListener(document);
+						registerDocsMapping(prefix, document);
+					}
+				}
+			}
+			else {
+				mergeOpenApi(currentApi, this.openApi);
+			}
+		}
+		this.proxyClient = proxyClientBuilder.build(proxyOptions, this.openApi);
+		return this;
+	}
+
+	public AbstractOpenApiManager<C> reload(ProxyOptions proxyOptions, Object proxyOptionsBean, OpenAPI previousOpenApi,
+			List<Server> previousServers, OpenAPI openApi, ProxyClientBuilder<C> proxyClientBuilder) {
+		// whatever can reject the specification runs before the first route or document
+		// changes, so a failed reload leaves the previous one fully in place
+		var rootOpenApi = this.documents.containsKey(proxyOptions.getPrefix()) ? null
+				: this.openApiProvider.getOpenAPI();
+		Optional.ofNullable(rootOpenApi).map((oa) -> oa.getPaths()).ifPresent((paths) -> {
+			var remainingPaths = new ArrayList<>(paths.keySet());
+			remainingPaths.removeAll(previousOpenApi.getPaths().keySet());
+			checkDuplicatedPaths(remainingPaths, openApi.getPaths().keySet());
+		});
+		var proxyClient = proxyClientBuilder.build(proxyOptions, openApi);
+		// operations left untouched keep their route, and their client, unless the
+		// upstream moved
+		var upstreamChanged = !Objects.equals(previousServers, openApi.getServers());
+		var previousOperations = getOperations(previousOpenApi);
+		var operations = getOperations(openApi);
+		this.proxyOptions = proxyOptions;
+		this.openApi = openApi;
+		this.proxyClient = proxyClient;
+		previousOperations.keySet()
+			.stream()
+			.filter((key) -> !operations.containsKey(key))
+			.forEach((key) -> unregisterOperationMapping(key.path(), key.requestMethod()));
+		operations.forEach((key, operation) -> {
+			if (upstreamChanged || !operation.equals(previousOperations.get(key))) {
+				registerOperationMapping(proxyOptionsBean, key.path(), operation, key.requestMethod());
+			}
+		});
+		openApi.setServers(this.proxyServers);
+		if (rootOpenApi == null) {
+			this.documents.replace(proxyOptions.getPrefix(), previousOpenApi, openApi);
+		}
+		else {
+			Optional.ofNullable(rootOpenApi.getPaths())
+				.ifPresent((paths) -> previousOpenApi.getPaths().keySet().forEach(paths::remove));
+			mergeOpenApi(rootOpenApi, openApi);
+		}
+		// listeners run once the served document is in place
+		this.openApiRegistry.replace(proxyOptions.getPrefix(), previousOpenApi, openApi);
+		return this;
+	}
+
+	protected Map<OperationKey, Operation> getOperations(OpenAPI openApi) {
+		var operations = new LinkedHashMap<OperationKey, Operation>();
+		Optional.ofNullable(openApi.getPaths())
+			.ifPresent(
+					(paths) -> paths.forEach(
+							(path, pathItem) -> pathItem.readOperationsMap()
+								.forEach(
+										(httpMethod, operation) -> operations.put(
+												new OperationKey(path,
+														RequestMethod
+															.resolve(HttpMethod.valueOf(httpMethod.toString()))),
+												operation))));
+		return operations;
+	}
+
+	public AbstractOpenApiManager<C> registerPathMappings(Object proxyOptionsBean) {
+		if (this.openApi == null) {
+			registerOperationMapping(proxyOptionsBean, getCatchAllPath(), null, RequestMethod.DELETE, RequestMethod.GET,
+					RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST,
+					RequestMethod.PUT, RequestMethod.TRACE);
+		}
+		else {
+			for (var pathEntry : this.openApi.getPaths().entrySet()) {
+				for (var operationEntry : pathEntry.getValue().readOperationsMap().entrySet()) {
+					var requestMethod = RequestMethod.resolve(HttpMethod.valueOf(operationEntry.getKey().toString()));
+					registerOperationMapping(proxyOptionsBean, pathEntry.getKey(), operationEntry.getValue(),
+							requestMethod);
+				}
+				this.openApi.setServers(this.proxyServers);
+			}
+		}
+		return this;
+	}
+
+	public AbstractOpenApiManager<C> unregisterCatchAllMapping() {
+		unregisterOperationMapping(getCatchAllPath());
+		return this;
+	}
+
+	protected String getCatchAllPath() {
+		return "/".concat(this.proxyOptions.getPrefix()).concat("/**");
+	}
+
+	protected abstract void registerOperationMapping(Object proxyOptionsBean, String path, Operation operation,
+			RequestMethod... requestMethods);
+
+	protected abstract void unregisterOperationMapping(String path, RequestMethod... requestMethods);
+
+	protected abstract void registerDocsMapping(String pathPrefix, OpenApiDocument document);
+
+	protected OpenAPI parseSpecification(ProxyOptions proxyOptions, ResourceLoader proxyResourceLoader) {
+		var specification = proxyResourceLoader.getResource(proxyOptions.getSpecification());
+		return this.specificationCache.load(
+				String.join("\n", proxyOptions.getSpecification(), proxyOptions.getPrefix(),
+						String.valueOf(proxyOptions.getTarget())),
+				() -> IOUtils.toString(specification.getInputStream(), StandardCharsets.UTF_8), (content) -> {
+					var openApi = new OpenAPIParser().readContents(content, null, OPENAPI_PARSE_OPTION).getOpenAPI();
+					if (openApi == null) {
+						throw new FatalBeanException("Unparseable Swagger specification: " + specification);
+					}
+					var proxyPaths = new Paths();
+					openApi.getPaths()
+						.forEach((path, pathItem) -> proxyPaths
+							.put((proxyOptions.getPrefix().isBlank() ? "" : "/".concat(proxyOptions.getPrefix()))
+								.concat(path), pathItem));
+					openApi.setPaths(proxyPaths);
+					return openApi;
+				});
+	}
+
+	protected void mergeOpenApi(OpenAPI oa1, OpenAPI oa2) {
+		if (oa1.getPaths() != null) {
+			checkDuplicatedPaths(oa1.getPaths().keySet(), oa2.getPaths().keySet());
+		}
+
+		if (oa1.getComponents() != null && oa2.getComponents() != null) {
+			oa1.getComponents()
+				.examples(mergeMap(oa1.getComponents().getExamples(), oa2.getComponents().getExamples()))
+				.extensions(mergeMap(oa1.getComponents().getExtensions(), oa2.getComponents().getExtensions()))
+				.headers(mergeMap(oa1.getComponents().getHeaders(), oa2.getComponents().getHeaders()))
+				.links(mergeMap(oa1.getComponents().getLinks(), oa2.getComponents().getLinks()))
+				.parameters(mergeMap(oa1.getComponents().getParameters(), oa2.getComponents().getParameters()))
+				.pathItems(mergeMap(oa1.getComponents().getPathItems(), oa2.getComponents().getPathItems()))
+				.requestBodies(mergeMap(oa1.getComponents().getRequestBodies(), oa2.getComponents().getRequestBodies()))
+				.responses(mergeMap(oa1.getComponents().getResponses(), oa2.getComponents().getResponses()))
+				.schemas(mergeMap(oa1.getComponents().getSchemas(), oa2.getComponents().getSchemas()))
+				.securitySchemes(
+						mergeMap(oa1.getComponents().getSecuritySchemes(), oa2.getComponents().getSecuritySchemes()));
+		}
+
+		oa1.security(mergeList(oa1.getSecurity(), oa2.getSecurity()))
+			.tags(mergeList(oa1.getTags(), oa2.getTags()))
+			.extensions(mergeMap(oa1.getExtensions(), oa2.getExtensions()))
+			.paths((Paths) mergeMap(oa1.getPaths(), oa2.getPaths()))
+			.components(Optional.ofNullable(oa1.getComponents()).orElse(oa2.getComponents()));
+	}
+
+	protected void checkDuplicatedPaths(Collection<String> paths, Collection<String> addedPaths) {
+		var copyPaths = new ArrayList<>(paths);
+		copyPaths.retainAll(addedPaths);
+		if (!copyPaths.isEmpty()) {
+			throw new IllegalArgumentException("Found duplicated paths: " + paths);
+		}
+	}
+
+	protected <T> List<T> mergeList(List<T> list1, List<T> list2) {
+		Optional.ofNullable(list1).ifPresent((l1) -> Optional.ofNullable(list2).ifPresent(l1::addAll));
+		return Optional.ofNullable(list1).orElse(list2);
+	}
+
+	protected <K, V> Map<K, V> mergeMap(Map<K, V> map1, Map<K, V> map2) {
+		Optional.ofNullable(map1).ifPresent((m1) -> Optional.ofNullable(map2).ifPresent(m1::putAll));
+		return Optional.ofNullable(map1).orElse(map2);
+	}
+
+	protected record OperationKey(String path, RequestMethod requestMethod) {
+
+	}
+
+	public interface ProxyClientBuilder<C> {
+
+		C build(ProxyOptions proxyOptions, OpenAPI openApi);
+
+	}
+
+}
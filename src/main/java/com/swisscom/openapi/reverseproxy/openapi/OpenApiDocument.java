@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.openapi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import lombok.Getter;
+
+public class OpenApiDocument implements OpenApiRegistry.Listener {
+
+	private final String prefix;
+
+	private final Supplier<OpenAPI> openApi;
+
+	@Getter
+	private final boolean yaml;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private volatile Rendition rendition;
+
+	public OpenApiDocument(String prefix, Supplier<OpenAPI> openApi, boolean yaml) {
+		this.prefix = trim(prefix);
+		this.openApi = openApi;
+		this.yaml = yaml;
+	}
+
+	public Rendition getRendition() {
+		var openApi = this.openApi.get();
+		var generation = this.generation.get();
+		var current = this.rendition;
+		if (current == null || current.openApi() != openApi || current.generation() != generation) {
+			current = render(openApi, generation);
+			this.rendition = current;
+		}
+		return current;
+	}
+
+	public MediaType getContentType() {
+		return this.yaml ? MediaType.TEXT_PLAIN : MediaType.APPLICATION_JSON;
+	}
+
+	public Representation negotiate(String acceptEncoding, String ifNoneMatch) {
+		return getRendition().negotiate(getContentType(), acceptEncoding, ifNoneMatch);
+	}
+
+	@Override
+	public void onOpenApiRegistration(String prefix, OpenAPI openApi) {
+		// merges mutate the served document in place, identity alone does not reveal them
+		if (Objects.equals(trim(prefix), this.prefix)) {
+			this.generation.incrementAndGet();
+		}
+	}
+
+	protected Rendition render(OpenAPI openApi, long generation) {
+		var body = (this.yaml ? Yaml.pretty(openApi) : Json.pretty(openApi)).getBytes(StandardCharsets.UTF_8);
+		var gzipBody = gzip(body);
+		var hash = HexFormat.of().formatHex(Arrays.copyOf(sha256(body), 16));
+		return new Rendition(openApi, generation, "\"" + hash + "\"", "\"" + hash + "-gzip\"", body, gzipBody);
+	}
+
+	private static boolean acceptsGzip(String acceptEncoding) {
+		return Optional.ofNullable(acceptEncoding)
+			.map((header) -> Arrays.stream(header.split(","))
+				.map((coding) -> coding.trim().split(";"))
+				.anyMatch((coding) -> coding[0].trim().equalsIgnoreCase("gzip")
+						&& (coding.length == 1 || !coding[1].replace(" ", "").matches("q=0(\\.0*)?"))))
+			.orElse(false);
+	}
+
+	private static byte[] gzip(byte[] body) {
+		try {
+			var out = new ByteArrayOutputStream(body.length / 4);
+			try (var gzip = new GZIPOutputStream(out)) {
+				gzip.write(body);
+			}
+			return out.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static byte[] sha256(byte[] body) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(body);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static String trim(String prefix) {
+		return Optional.ofNullable(prefix).map((pfx) -> pfx.trim()).orElse("");
+	}
+
+	public record Rendition(OpenAPI openApi, long generation, String entityTag, String gzipEntityTag, byte[] body,
+			byte[] gzipBody) {
+
+		private boolean isNotModified(String ifNoneMatch, boolean gzip) {
+			var entityTag = gzip ? this.gzipEntityTag : this.entityTag;
+			return Optional.ofNullable(ifNoneMatch)
+				.map((header) -> Arrays.stream(header.split(","))
+					.map((tag) -> tag.trim().replaceFirst("^W/", ""))
+					.anyMatch((tag) -> tag.equals("*") || tag.equals(entityTag)))
+				.orElse(false);
+		}
+
+		// the same conditional and gzip handling for the servlet and the reactive stack
+		public Representation negotiate(MediaType contentType, String acceptEncoding, String ifNoneMatch) {
+			var gzip = acceptsGzip(acceptEncoding);
+			var headers = new HttpHeaders();
+			headers.setETag(gzip ? this.gzipEntityTag : this.entityTag);
+			headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			if (isNotModified(ifNoneMatch, gzip)) {
+				return new Representation(HttpStatus.NOT_MODIFIED, headers, null);
+			}
+			if (gzip) {
+				headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+			}
+			headers.setContentType(contentType);
+			return new Representation(HttpStatus.OK, headers, gzip ? this.gzipBody : this.body);
+		}
+
+	}
+
+	public record Representation(HttpStatus status, HttpHeaders headers, byte[] body) {
+	}
+
+}
@@ -16,11 +16,11 @@
 
 package com.swisscom.openapi.reverseproxy.openapi;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.stereotype.Component;
@@ -33,9 +33,9 @@ import lombok.RequiredArgsConstructor;
 @Component
 public class OpenApiRegistry {
 
-	private List<Listener> listeners = new ArrayList<>();
+	private List<Listener> listeners = new CopyOnWriteArrayList<>();
 
-	private Map<String, List<OpenAPI>> registry = new HashMap<>();
+	private Map<String, List<OpenAPI>> registry = new ConcurrentHashMap<>();
 
 	public OpenAPI get(String prefix) {
 		return Optional.ofNullable(prefix)
@@ -56,14 +56,25 @@ public class OpenApiRegistry {
 
 	protected void add(String prefix, OpenAPI openApi) {
 		var key = Optional.ofNullable(prefix).map((pfx) -> pfx.trim()).orElse("");
-		this.registry.computeIfAbsent((key), (k) -> new ArrayList<OpenAPI>()).add(openApi);
+		this.registry.computeIfAbsent((key), (k) -> new CopyOnWriteArrayList<OpenAPI>()).add(openApi);
 		this.listeners.forEach((listener) -> listener.onOpenApiRegistration(prefix, openApi));
 	}
 
+	protected void replace(String prefix, OpenAPI previousOpenApi, OpenAPI openApi) {
+		var key = Optional.ofNullable(prefix).map((pfx) -> pfx.trim()).orElse("");
+		Optional.ofNullable(this.registry.get(key))
+			.ifPresent((openApis) -> openApis.replaceAll((oa) -> (oa == previousOpenApi) ? openApi : oa));
+		this.listeners.forEach((listener) -> listener.onOpenApiReplacement(prefix, previousOpenApi, openApi));
+	}
+
 	public interface Listener {
 
 		void onOpenApiRegistration(String prefix, OpenAPI openApi);
 
+		default void onOpenApiReplacement(String prefix, OpenAPI previousOpenApi, OpenAPI openApi) {
+			onOpenApiRegistration(prefix, openApi);
+		}
+
 	}
 
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.openapi;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.FatalBeanException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OpenApiSpecificationCache {
+
+	private static final String HASH_FIELD = "hash";
+
+	private static final String OPENAPI_FIELD = "openApi";
+
+	// a $ref value that does not point into the document itself
+	private static final Pattern EXTERNAL_REFERENCE = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?[^#\"'\\s]");
+
+	@Getter
+	private final Path directory;
+
+	public OpenAPI load(String key, SpecificationSource specificationSource, SpecificationParser specificationParser) {
+		if (this.directory == null) {
+			return specificationParser.parse(read(specificationSource));
+		}
+		var entry = this.directory.resolve(digest(key).concat(".json"));
+		String content;
+		try {
+			content = specificationSource.read();
+		}
+		catch (IOException ex) {
+			// unreachable source: fall back to the last successfully parsed copy, a
+			// source that cannot be parsed fails instead
+			return readEntry(entry).map((node) -> toOpenApi(node.get(OPENAPI_FIELD)))
+				.orElseThrow(() -> new FatalBeanException(ex.getMessage(), ex));
+		}
+		var hash = digest(content);
+		// the hash only covers the root document: one resolving external references
+		// is parsed again, their changes would go unnoticed otherwise
+		return readEntry(entry).filter(
+				(node) -> hash.equals(node.path(HASH_FIELD).asText()) && !EXTERNAL_REFERENCE.matcher(content).find())
+			.map((node) -> toOpenApi(node.get(OPENAPI_FIELD)))
+			.orElseGet(() -> writeEntry(entry, hash, specificationParser.parse(content)));
+	}
+
+	protected Optional<JsonNode> readEntry(Path entry) {
+		try {
+			return Files.isRegularFile(entry) ? Optional.of(Json.mapper().readTree(entry.toFile())) : Optional.empty();
+		}
+		catch (IOException ex) {
+			return Optional.empty();
+		}
+	}
+
+	protected OpenAPI writeEntry(Path entry, String hash, OpenAPI openApi) {
+		try {
+			Files.createDirectories(this.directory);
+			var node = Json.mapper().createObjectNode().put(HASH_FIELD, hash);
+			node.set(OPENAPI_FIELD, mapper(openApi.getOpenapi()).valueToTree(openApi));
+			var temp = Files.createTempFile(this.directory, "spec-", ".tmp");
+			Json.mapper().writeValue(temp.toFile(), node);
+			Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			// the cache is an optimization only, a read-only directory must not fail the
+			// startup
+		}
+		return openApi;
+	}
+
+	protected OpenAPI toOpenApi(JsonNode node) {
+		try {
+			return mapper(node.path("openapi").asText()).treeToValue(node, OpenAPI.class);
+		}
+		catch (IOException ex) {
+			throw new FatalBeanException(ex.getMessage(), ex);
+		}
+	}
+
+	private static ObjectMapper mapper(String version) {
+		return Optional.ofNullable(version)
+			.filter((v) -> v.startsWith("3.1"))
+			.map((v) -> Json31.mapper())
+			.orElseGet(Json::mapper);
+	}
+
+	private static String read(SpecificationSource specificationSource) {
+		try {
+			return specificationSource.read();
+		}
+		catch (IOException ex) {
+			throw new FatalBeanException(ex.getMessage(), ex);
+		}
+	}
+
+	private static String digest(String value) {
+		try {
+			return HexFormat.of()
+				.formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public interface SpecificationSource {
+
+		String read() throws IOException;
+
+	}
+
+	public interface SpecificationParser {
+
+		OpenAPI parse(String content);
+
+	}
+
+}
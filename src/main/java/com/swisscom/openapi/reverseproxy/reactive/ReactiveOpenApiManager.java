@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.reactive;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.swisscom.openapi.reverseproxy.openapi.AbstractOpenApiManager;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiDocument;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiProvider;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiRegistry;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiSpecificationCache;
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorInvoker;
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorMethodResolver;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.servers.Server;
+import reactor.core.publisher.Mono;
+
+public class ReactiveOpenApiManager extends AbstractOpenApiManager<ReactiveProxyClient> {
+
+	private final ProxyInterceptorMethodResolver interceptorMethodResolver = new ProxyInterceptorMethodResolver();
+
+	private final ReactiveProxyRouterFunction routerFunction;
+
+	public ReactiveOpenApiManager(ReactiveProxyRouterFunction routerFunction, OpenApiProvider openApiProvider,
+			OpenApiRegistry openApiRegistry, List<Server> proxyServers, OpenApiSpecificationCache specificationCache) {
+		super(openApiProvider, openApiRegistry, proxyServers, specificationCache);
+		this.routerFunction = routerFunction;
+	}
+
+	@Override
+	protected void registerOperationMapping(Object proxyOptionsBean, String path, Operation operation,
+			RequestMethod... requestMethods) {
+		var interceptorMethod = this.interceptorMethodResolver.resolve(proxyOptionsBean, path, List.of(requestMethods));
+		var httpMethods = toHttpMethods(requestMethods);
+		this.routerFunction.add(path, Set.of(httpMethods),
+				RouterFunctions.route(RequestPredicates.path(path).and(RequestPredicates.methods(httpMethods)),
+						new ReactiveProxyHandler(proxyOptionsBean, ProxyInterceptorInvoker.of(interceptorMethod),
+								this.proxyClient)));
+	}
+
+	@Override
+	protected void unregisterOperationMapping(String path, RequestMethod... requestMethods) {
+		this.routerFunction.remove(path, toHttpMethods(requestMethods));
+	}
+
+	private static HttpMethod[] toHttpMethods(RequestMethod... requestMethods) {
+		return Arrays.stream(requestMethods)
+			.map((requestMethod) -> requestMethod.asHttpMethod())
+			.toArray(HttpMethod[]::new);
+	}
+
+	@Override
+	protected void registerDocsMapping(String pathPrefix, OpenApiDocument document) {
+		Optional.ofNullable(pathPrefix)
+			.map((prefix) -> "/".concat(prefix).concat("/api-docs").concat(document.isYaml() ? ".yaml" : ".json"))
+			.ifPresent((path) -> this.routerFunction.add(
+					RouterFunctions.route(RequestPredicates.GET(path), (request) -> serveDocument(request, document))));
+	}
+
+	protected Mono<ServerResponse> serveDocument(ServerRequest request, OpenApiDocument document) {
+		var representation = document.negotiate(request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING),
+				request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH));
+		var response = ServerResponse.status(representation.status())
+			.headers((headers) -> headers.addAll(representation.headers()));
+		return (representation.body() != null) ? response.bodyValue(representation.body()) : response.build();
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.swisscom.openapi.reverseproxy.util.HeaderFilter;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReactiveProxyClient {
+
+	private final WebClient webClient;
+
+	private final String target;
+
+	private final String prefix;
+
+	private final HeaderFilter requestHeaderFilter;
+
+	private final HeaderFilter responseHeaderFilter;
+
+	@Getter
+	private final ServerRequest request;
+
+	private final Consumer<HttpHeaders> requestHeadersTransformer;
+
+	private final BodyInserter<?, ? super ClientHttpRequest> requestBody;
+
+	public ReactiveProxyClient(WebClient webClient, String target, String prefix, List<String> ignoredRequestHeaders,
+			List<String> ignoredResponseHeaders) {
+		this(webClient, target, Optional.ofNullable(prefix).orElse(""), HeaderFilter.forRequests(ignoredRequestHeaders),
+				HeaderFilter.forResponses(ignoredResponseHeaders), null, (headers) -> {
+				}, null);
+	}
+
+	public ReactiveProxyClient transformRequestHeaders(Consumer<HttpHeaders> transformer) {
+		return new ReactiveProxyClient(this.webClient, this.target, this.prefix, this.requestHeaderFilter,
+				this.responseHeaderFilter, this.request, this.requestHeadersTransformer.andThen(transformer),
+				this.requestBody);
+	}
+
+	public <T, Q> ReactiveProxyClient transformRequestBody(Function<T, Q> transformer,
+			ParameterizedTypeReference<T> requestBodyType) {
+		return new ReactiveProxyClient(this.webClient, this.target, this.prefix, this.requestHeaderFilter,
+				this.responseHeaderFilter, this.request,
+				this.requestHeadersTransformer.andThen((headers) -> headers.remove(HttpHeaders.CONTENT_LENGTH)),
+				BodyInserters.fromPublisher(
+						getRequest().bodyToMono(requestBodyType).map((body) -> (Object) transformer.apply(body)),
+						Object.class));
+	}
+
+	public <T, Q> ReactiveProxyClient transformRequestBody(Function<T, Q> transformer, Class<T> requestBodyType) {
+		return transformRequestBody(transformer, ParameterizedTypeReference.forType(requestBodyType));
+	}
+
+	public <T> Mono<T> getResponseBody(ParameterizedTypeReference<T> responseType) {
+		return exchange(responseType).mapNotNull((responseEntity) -> responseEntity.getBody());
+	}
+
+	public <T> Mono<T> getResponseBody(Class<T> responseType) {
+		return getResponseBody(ParameterizedTypeReference.forType(responseType));
+	}
+
+	public <T> Mono<ResponseEntity<T>> exchange(ParameterizedTypeReference<T> responseBodyType) {
+		return buildRequest().retrieve()
+			.onStatus((status) -> true, (response) -> Mono.empty())
+			.toEntity(responseBodyType)
+			.map((responseEntity) -> ResponseEntity.status(responseEntity.getStatusCode())
+				.headers(this.responseHeaderFilter.filter(responseEntity.getHeaders()))
+				.body(responseEntity.getBody()));
+	}
+
+	public <T> Mono<ResponseEntity<T>> exchange(Class<T> responseBodyType) {
+		return exchange(ParameterizedTypeReference.forType(responseBodyType));
+	}
+
+	public Mono<ServerResponse> exchange() {
+		return buildRequest().retrieve()
+			.onStatus((status) -> true, (response) -> Mono.empty())
+			.toEntityFlux(DataBuffer.class)
+			.flatMap((responseEntity) -> ServerResponse.status(responseEntity.getStatusCode())
+				.headers((headers) -> this.responseHeaderFilter.copy(responseEntity.getHeaders(), headers))
+				.body(BodyInserters.fromDataBuffers(responseEntity.getBody())))
+			.onErrorResume(WebClientRequestException.class,
+					(ex) -> ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.bodyValue(ex.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	protected ReactiveProxyClient bind(ServerRequest request) {
+		return new ReactiveProxyClient(this.webClient, this.target, this.prefix, this.requestHeaderFilter,
+				this.responseHeaderFilter, request, this.requestHeadersTransformer, this.requestBody);
+	}
+
+	protected WebClient.RequestHeadersSpec<?> buildRequest() {
+		var request = getRequest();
+		var uri = UriComponentsBuilder.fromUriString(this.target)
+			.path(stripPrefix(request.requestPath().pathWithinApplication().value()))
+			.query(request.uri().getRawQuery())
+			.build(true)
+			.toUri();
+		var requestSpec = this.webClient.method(request.method()).uri(uri).headers((headers) -> {
+			this.requestHeaderFilter.copy(request.headers().asHttpHeaders(), headers);
+			this.requestHeadersTransformer.accept(headers);
+		});
+		if (this.requestBody != null) {
+			return requestSpec.body(this.requestBody);
+		}
+		else if (request.headers().contentLength().orElse(0) > 0
+				|| request.headers().firstHeader(HttpHeaders.TRANSFER_ENCODING) != null) {
+			return requestSpec.body(BodyInserters.fromDataBuffers(request.bodyToFlux(DataBuffer.class)));
+		}
+		return requestSpec;
+	}
+
+	protected String stripPrefix(String path) {
+		var pathPrefix = "/".concat(this.prefix);
+		return (!this.prefix.isBlank() && path.startsWith(pathPrefix)) ? path.substring(pathPrefix.length()) : path;
+	}
+
+}
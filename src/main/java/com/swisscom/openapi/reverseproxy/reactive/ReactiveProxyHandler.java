@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.reactive;
+
+import org.reactivestreams.Publisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorInvoker;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveProxyHandler implements HandlerFunction<ServerResponse> {
+
+	private final Object proxyOptionsBean;
+
+	private final ProxyInterceptorInvoker interceptorInvoker;
+
+	private final ReactiveProxyClient proxyClient;
+
+	@Override
+	public Mono<ServerResponse> handle(ServerRequest request) {
+		var boundProxyClient = this.proxyClient.bind(request);
+		if (this.interceptorInvoker == null) {
+			return boundProxyClient.exchange();
+		}
+		try {
+			return toServerResponse(this.interceptorInvoker.invoke(this.proxyOptionsBean, boundProxyClient));
+		}
+		catch (RuntimeException ex) {
+			return Mono.error(ex);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected Mono<ServerResponse> toServerResponse(Object result) {
+		if (result == null) {
+			return ServerResponse.ok().build();
+		}
+		else if (result instanceof ServerResponse) {
+			return Mono.just((ServerResponse) result);
+		}
+		else if (result instanceof Mono<?>) {
+			return ((Mono<?>) result).flatMap(this::toServerResponse)
+				.switchIfEmpty(Mono.defer(() -> ServerResponse.ok().build()));
+		}
+		else if (result instanceof Publisher<?>) {
+			return ServerResponse.ok().body(BodyInserters.fromPublisher((Publisher<Object>) result, Object.class));
+		}
+		else if (result instanceof ResponseEntity<?>) {
+			var responseEntity = (ResponseEntity<?>) result;
+			var serverResponse = ServerResponse.status(responseEntity.getStatusCode())
+				.headers((headers) -> headers.addAll(responseEntity.getHeaders()));
+			return (responseEntity.getBody() != null) ? serverResponse.bodyValue(responseEntity.getBody())
+					: serverResponse.build();
+		}
+		return ServerResponse.ok().bodyValue(result);
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.reactive;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ConditionalOnMissingBean(value = ReactiveProxyRouterFunction.class, ignored = ReactiveProxyRouterFunction.class)
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@Component
+public class ReactiveProxyRouterFunction implements RouterFunction<ServerResponse> {
+
+	private final List<Route> routes = new CopyOnWriteArrayList<>();
+
+	public void add(RouterFunction<ServerResponse> routerFunction) {
+		add(null, Set.of(), routerFunction);
+	}
+
+	public synchronized void add(String path, Set<HttpMethod> methods, RouterFunction<ServerResponse> routerFunction) {
+		var route = new Route(path, methods, routerFunction);
+		if (path != null && this.routes.stream().anyMatch(route::replaces)) {
+			this.routes.replaceAll((existing) -> route.replaces(existing) ? route : existing);
+		}
+		else {
+			this.routes.add(route);
+		}
+	}
+
+	public synchronized void remove(String path, HttpMethod... methods) {
+		this.routes.removeIf((route) -> path.equals(route.path())
+				&& (methods.length == 0 || route.methods().equals(Set.of(methods))));
+	}
+
+	@Override
+	public Mono<HandlerFunction<ServerResponse>> route(ServerRequest request) {
+		return Flux.fromIterable(this.routes).concatMap((route) -> route.routerFunction().route(request)).next();
+	}
+
+	private record Route(String path, Set<HttpMethod> methods, RouterFunction<ServerResponse> routerFunction) {
+
+		boolean replaces(Route route) {
+			return this.path.equals(route.path()) && this.methods.equals(route.methods());
+		}
+
+	}
+
+}
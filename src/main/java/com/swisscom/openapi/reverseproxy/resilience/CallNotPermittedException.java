@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.time.Duration;
+
+import org.springframework.web.client.ResourceAccessException;
+
+import lombok.Getter;
+
+@SuppressWarnings("serial")
+public class CallNotPermittedException extends ResourceAccessException {
+
+	@Getter
+	private final Duration retryAfter;
+
+	public CallNotPermittedException(String target, Duration retryAfter) {
+		super("Circuit breaker open for target " + target);
+		this.retryAfter = retryAfter;
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.swisscom.openapi.reverseproxy.config.CircuitBreakerOptions;
+
+import lombok.Getter;
+
+public class CircuitBreaker {
+
+	public enum State {
+
+		CLOSED, OPEN, HALF_OPEN
+
+	}
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	@Getter
+	private final String target;
+
+	@Getter
+	private final CircuitBreakerOptions options;
+
+	private final byte[] outcomes;
+
+	private int outcomeIndex;
+
+	private int outcomeCount;
+
+	private int failureCount;
+
+	private int slowCount;
+
+	@Getter
+	private volatile State state = State.CLOSED;
+
+	private long openedAt;
+
+	private int halfOpenPermits;
+
+	private int halfOpenCompleted;
+
+	public CircuitBreaker(String target, CircuitBreakerOptions options) {
+		this.target = target;
+		this.options = options;
+		this.outcomes = new byte[Math.max(1, options.slidingWindowSize())];
+	}
+
+	public <T> T execute(Supplier<T> call) {
+		if (!this.options.enabled()) {
+			return call.get();
+		}
+		acquirePermission();
+		var start = System.nanoTime();
+		try {
+			var result = call.get();
+			onResult(System.nanoTime() - start, false);
+			return result;
+		}
+		catch (RuntimeException ex) {
+			onResult(System.nanoTime() - start, isFailure(ex));
+			throw ex;
+		}
+	}
+
+	public float getFailureRate() {
+		this.lock.lock();
+		try {
+			return (this.outcomeCount == 0) ? 0 : this.failureCount * 100f / this.outcomeCount;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	public float getSlowCallRate() {
+		this.lock.lock();
+		try {
+			return (this.outcomeCount == 0) ? 0 : this.slowCount * 100f / this.outcomeCount;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	protected void acquirePermission() {
+		this.lock.lock();
+		try {
+			if (this.state == State.OPEN) {
+				var remaining = this.options.openDuration().toNanos() - (System.nanoTime() - this.openedAt);
+				if (remaining > 0) {
+					throw new CallNotPermittedException(this.target, Duration.ofNanos(remaining));
+				}
+				transitionTo(State.HALF_OPEN);
+			}
+			if (this.state == State.HALF_OPEN) {
+				if (this.halfOpenPermits <= 0) {
+					throw new CallNotPermittedException(this.target, Duration.ZERO);
+				}
+				this.halfOpenPermits--;
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	protected void onResult(long durationNanos, boolean failure) {
+		var slow = this.options.slowCallDuration() != null
+				&& durationNanos >= this.options.slowCallDuration().toNanos();
+		this.lock.lock();
+		try {
+			if (this.state == State.HALF_OPEN) {
+				if (failure || slow) {
+					transitionTo(State.OPEN);
+				}
+				else if (++this.halfOpenCompleted >= this.options.halfOpenCalls()) {
+					transitionTo(State.CLOSED);
+				}
+			}
+			else if (this.state == State.CLOSED) {
+				record((byte) ((failure ? 1 : 0) | (slow ? 2 : 0)));
+				if (this.outcomeCount >= this.options.minimumCalls()
+						&& (this.failureCount * 100f / this.outcomeCount >= this.options.failureRateThreshold()
+								|| this.slowCount * 100f / this.outcomeCount >= this.options.slowCallRateThreshold())) {
+					transitionTo(State.OPEN);
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	protected boolean isFailure(RuntimeException ex) {
+		return (ex instanceof RestClientResponseException)
+				? ((RestClientResponseException) ex).getStatusCode().is5xxServerError()
+				: ex instanceof ResourceAccessException && !(ex instanceof CallNotPermittedException);
+	}
+
+	private void record(byte outcome) {
+		if (this.outcomeCount == this.outcomes.length) {
+			var evicted = this.outcomes[this.outcomeIndex];
+			this.failureCount -= evicted & 1;
+			this.slowCount -= (evicted >> 1) & 1;
+		}
+		else {
+			this.outcomeCount++;
+		}
+		this.outcomes[this.outcomeIndex] = outcome;
+		this.outcomeIndex = (this.outcomeIndex + 1) % this.outcomes.length;
+		this.failureCount += outcome & 1;
+		this.slowCount += (outcome >> 1) & 1;
+	}
+
+	private void transitionTo(State state) {
+		this.state = state;
+		this.outcomeIndex = 0;
+		this.outcomeCount = 0;
+		this.failureCount = 0;
+		this.slowCount = 0;
+		this.halfOpenPermits = this.options.halfOpenCalls();
+		this.halfOpenCompleted = 0;
+		if (state == State.OPEN) {
+			this.openedAt = System.nanoTime();
+		}
+	}
+
+}
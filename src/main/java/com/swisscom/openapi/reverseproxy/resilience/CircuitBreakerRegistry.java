@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.stereotype.Component;
+
+import com.swisscom.openapi.reverseproxy.config.CircuitBreakerOptions;
+
+@ConditionalOnMissingBean(value = CircuitBreakerRegistry.class, ignored = CircuitBreakerRegistry.class)
+@Component
+public class CircuitBreakerRegistry {
+
+	private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+	public CircuitBreaker getCircuitBreaker(String target, CircuitBreakerOptions options) {
+		// breakers are shared per target, so every proxy must agree on how it trips
+		var circuitBreaker = this.circuitBreakers.computeIfAbsent(target, (t) -> new CircuitBreaker(t, options));
+		if (!circuitBreaker.getOptions().equals(options)) {
+			throw new IllegalArgumentException("Conflicting circuit breaker options for target: " + target);
+		}
+		return circuitBreaker;
+	}
+
+	public Map<String, CircuitBreaker> getCircuitBreakers() {
+		return Map.copyOf(this.circuitBreakers);
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.function.Supplier;
+
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import lombok.Getter;
+
+public class Retrier {
+
+	@Getter
+	private final RetryMetrics metrics = new RetryMetrics();
+
+	@Getter
+	private final RetryBudget budget;
+
+	public Retrier(RetryBudget budget) {
+		this.budget = budget;
+	}
+
+	public <T> T execute(RetryPolicy policy, HttpMethod method, Supplier<T> call) {
+		this.metrics.onCall();
+		this.budget.onRequest();
+		for (var attempt = 1;; attempt++) {
+			this.metrics.onAttempt();
+			try {
+				return call.get();
+			}
+			catch (RuntimeException ex) {
+				if (!policy.enabled() || !isRetryable(policy, method, ex)) {
+					throw ex;
+				}
+				if (attempt >= policy.maxAttempts() || !this.budget.tryAcquire()) {
+					this.metrics.onGiveUp(attempt < policy.maxAttempts());
+					throw ex;
+				}
+				this.metrics.onRetry();
+				try {
+					Thread.sleep(policy.backoff(attempt).toMillis());
+				}
+				catch (InterruptedException iex) {
+					Thread.currentThread().interrupt();
+					throw ex;
+				}
+			}
+		}
+	}
+
+	protected boolean isRetryable(RetryPolicy policy, HttpMethod method, RuntimeException ex) {
+		if (ex instanceof CallNotPermittedException) {
+			return false;
+		}
+		if (ex instanceof RestClientResponseException) {
+			return policy.isIdempotent(method)
+					&& policy.retryStatuses().contains(((RestClientResponseException) ex).getStatusCode().value());
+		}
+		if (ex instanceof ResourceAccessException) {
+			return (policy.retryOnConnectFailure() && isConnectFailure(ex)) || policy.isIdempotent(method);
+		}
+		return false;
+	}
+
+	protected boolean isConnectFailure(Throwable ex) {
+		for (var cause = ex; cause != null; cause = (cause.getCause() != cause) ? cause.getCause() : null) {
+			if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+					|| cause instanceof NoRouteToHostException || cause instanceof UnknownHostException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
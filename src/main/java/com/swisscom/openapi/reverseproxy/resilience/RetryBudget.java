@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RetryBudget {
+
+	private static final long TOKEN = 1000;
+
+	private final long depositPerRequest;
+
+	private final long depositPerSecond;
+
+	private final long capacity;
+
+	private final AtomicLong balance;
+
+	private final AtomicLong lastRefill = new AtomicLong(System.nanoTime());
+
+	public RetryBudget(double ratio, int minRetriesPerSecond) {
+		this.depositPerRequest = (long) (ratio * TOKEN);
+		this.depositPerSecond = minRetriesPerSecond * TOKEN;
+		this.capacity = Math.max(TOKEN, 10 * this.depositPerSecond);
+		this.balance = new AtomicLong(this.capacity);
+	}
+
+	public void onRequest() {
+		deposit(this.depositPerRequest);
+	}
+
+	public boolean tryAcquire() {
+		refill();
+		var current = this.balance.get();
+		while (current >= TOKEN) {
+			if (this.balance.compareAndSet(current, current - TOKEN)) {
+				return true;
+			}
+			current = this.balance.get();
+		}
+		return false;
+	}
+
+	public double getAvailableRetries() {
+		refill();
+		return (double) this.balance.get() / TOKEN;
+	}
+
+	private void refill() {
+		var now = System.nanoTime();
+		var last = this.lastRefill.get();
+		var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(now - last);
+		if (elapsedMillis > 0 && this.lastRefill.compareAndSet(last, now)) {
+			deposit(this.depositPerSecond * elapsedMillis / 1000);
+		}
+	}
+
+	private void deposit(long amount) {
+		this.balance.accumulateAndGet(amount, (current, added) -> Math.min(this.capacity, current + added));
+	}
+
+}
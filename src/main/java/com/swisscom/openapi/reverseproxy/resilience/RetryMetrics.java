@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class RetryMetrics {
+
+	private final LongAdder calls = new LongAdder();
+
+	private final LongAdder attempts = new LongAdder();
+
+	private final LongAdder retries = new LongAdder();
+
+	private final LongAdder giveUps = new LongAdder();
+
+	private final LongAdder budgetExhaustions = new LongAdder();
+
+	public long getCalls() {
+		return this.calls.sum();
+	}
+
+	public long getAttempts() {
+		return this.attempts.sum();
+	}
+
+	public long getRetries() {
+		return this.retries.sum();
+	}
+
+	public long getGiveUps() {
+		return this.giveUps.sum();
+	}
+
+	public long getBudgetExhaustions() {
+		return this.budgetExhaustions.sum();
+	}
+
+	void onCall() {
+		this.calls.increment();
+	}
+
+	void onAttempt() {
+		this.attempts.increment();
+	}
+
+	void onRetry() {
+		this.retries.increment();
+	}
+
+	void onGiveUp(boolean budgetExhausted) {
+		this.giveUps.increment();
+		if (budgetExhausted) {
+			this.budgetExhaustions.increment();
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpMethod;
+
+import com.swisscom.openapi.reverseproxy.config.RetryOptions;
+
+import io.swagger.v3.oas.models.Operation;
+
+public record RetryPolicy(boolean enabled, int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+		double multiplier, double jitter, boolean retryOnConnectFailure, Set<Integer> retryStatuses,
+		Boolean idempotent) {
+
+	public static final String RETRY_EXTENSION = "x-proxy-retry";
+
+	public static final String IDEMPOTENT_EXTENSION = "x-proxy-idempotent";
+
+	private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD,
+			HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+
+	public static RetryPolicy of(RetryOptions options, boolean enabled) {
+		return new RetryPolicy(enabled || options.enabled(), Math.max(1, options.maxAttempts()),
+				options.initialBackoff(), options.maxBackoff(), options.multiplier(), options.jitter(),
+				options.retryOnConnectFailure(), Set.copyOf(options.retryStatuses()), null);
+	}
+
+	@SuppressWarnings("unchecked")
+	public RetryPolicy forOperation(Operation operation) {
+		var extensions = Optional.ofNullable(operation).map((op) -> op.getExtensions()).orElse(Map.of());
+		var idempotentExtension = Optional.ofNullable(extensions.get(IDEMPOTENT_EXTENSION))
+			.map((value) -> Boolean.valueOf(value.toString()))
+			.orElse(this.idempotent);
+		var retryExtension = extensions.get(RETRY_EXTENSION);
+		if (retryExtension instanceof Boolean) {
+			return new RetryPolicy((Boolean) retryExtension, this.maxAttempts, this.initialBackoff, this.maxBackoff,
+					this.multiplier, this.jitter, this.retryOnConnectFailure, this.retryStatuses, idempotentExtension);
+		}
+		var retry = (retryExtension instanceof Map) ? (Map<String, Object>) retryExtension : Map.<String, Object>of();
+		return new RetryPolicy(
+				Optional.ofNullable(retry.get("enabled"))
+					.map((value) -> Boolean.valueOf(value.toString()))
+					.orElse(this.enabled || !retry.isEmpty()),
+				Optional.ofNullable((Number) retry.get("maxAttempts"))
+					.map((value) -> Math.max(1, value.intValue()))
+					.orElse(this.maxAttempts),
+				Optional.ofNullable(retry.get("initialBackoff"))
+					.map((value) -> DurationStyle.detectAndParse(value.toString()))
+					.orElse(this.initialBackoff),
+				Optional.ofNullable(retry.get("maxBackoff"))
+					.map((value) -> DurationStyle.detectAndParse(value.toString()))
+					.orElse(this.maxBackoff),
+				this.multiplier, this.jitter,
+				Optional.ofNullable(retry.get("retryOnConnectFailure"))
+					.map((value) -> Boolean.valueOf(value.toString()))
+					.orElse(this.retryOnConnectFailure),
+				Optional.ofNullable((List<Number>) retry.get("retryStatuses"))
+					.map((statuses) -> statuses.stream().map(Number::intValue).collect(Collectors.toUnmodifiableSet()))
+					.orElse(this.retryStatuses),
+				idempotentExtension);
+	}
+
+	public boolean isIdempotent(HttpMethod method) {
+		return (this.idempotent != null) ? this.idempotent : IDEMPOTENT_METHODS.contains(method);
+	}
+
+	public Duration backoff(int attempt) {
+		var delay = Math.min(this.maxBackoff.toMillis(),
+				this.initialBackoff.toMillis() * Math.pow(this.multiplier, attempt - 1));
+		return Duration.ofMillis((long) (delay * (1 - this.jitter * ThreadLocalRandom.current().nextDouble())));
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.resilience;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.stereotype.Component;
+
+import com.swisscom.openapi.reverseproxy.config.RetryOptions;
+
+@ConditionalOnMissingBean(value = RetryRegistry.class, ignored = RetryRegistry.class)
+@Component
+public class RetryRegistry {
+
+	private final Map<String, BudgetedRetrier> retriers = new ConcurrentHashMap<>();
+
+	public Retrier getRetrier(String target, RetryOptions options) {
+		// budgets are shared per target, so every proxy must agree on their size
+		var retrier = this.retriers.computeIfAbsent(target,
+				(t) -> new BudgetedRetrier(options.budgetRatio(), options.budgetMinRetriesPerSecond(),
+						new Retrier(new RetryBudget(options.budgetRatio(), options.budgetMinRetriesPerSecond()))));
+		if (Double.compare(retrier.budgetRatio(), options.budgetRatio()) != 0
+				|| retrier.budgetMinRetriesPerSecond() != options.budgetMinRetriesPerSecond()) {
+			throw new IllegalArgumentException("Conflicting retry budget options for target: " + target);
+		}
+		return retrier.retrier();
+	}
+
+	public Map<String, RetryMetrics> getMetrics() {
+		return this.retriers.entrySet()
+			.stream()
+			.collect(Collectors.toMap((e) -> e.getKey(), (e) -> e.getValue().retrier().getMetrics()));
+	}
+
+	private record BudgetedRetrier(double budgetRatio, int budgetMinRetriesPerSecond, Retrier retrier) {
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+public class DirectBufferPool {
+
+	@Getter
+	private final int chunkSize;
+
+	private final int maxChunks;
+
+	private final AtomicInteger allocatedChunks = new AtomicInteger();
+
+	private final Queue<ByteBuffer> freeChunks = new ConcurrentLinkedQueue<>();
+
+	public DirectBufferPool(int chunkSize, long poolSize) {
+		this.chunkSize = chunkSize;
+		this.maxChunks = (int) Math.max(0, poolSize / chunkSize);
+	}
+
+	public ByteBuffer acquire() {
+		var chunk = this.freeChunks.poll();
+		if (chunk != null) {
+			return chunk;
+		}
+		if (this.allocatedChunks.incrementAndGet() <= this.maxChunks) {
+			return ByteBuffer.allocateDirect(this.chunkSize);
+		}
+		this.allocatedChunks.decrementAndGet();
+		return ByteBuffer.allocate(this.chunkSize);
+	}
+
+	public void release(ByteBuffer chunk) {
+		if (chunk.isDirect() && chunk.capacity() == this.chunkSize) {
+			this.freeChunks.offer(chunk.clear());
+		}
+	}
+
+	public int getAllocatedChunks() {
+		return this.allocatedChunks.get();
+	}
+
+	public int getFreeChunks() {
+		return this.freeChunks.size();
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+
+public final class HeaderFilter {
+
+	// RFC 7230 section 6.1, plus the non-standard Keep-Alive and Proxy-Connection
+	private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+			HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER,
+			HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE, "Proxy-Connection");
+
+	private final Set<String> excludedHeaders;
+
+	private HeaderFilter(List<String> excludedHeaders) {
+		// case-insensitive comparisons: lookups neither lower-case nor allocate
+		var headers = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+		headers.addAll(excludedHeaders);
+		this.excludedHeaders = Collections.unmodifiableSet(headers);
+	}
+
+	public static HeaderFilter forRequests(List<String> ignoredHeaders) {
+		var excludedHeaders = new ArrayList<>(HOP_BY_HOP_HEADERS);
+		excludedHeaders.add(HttpHeaders.HOST);
+		Optional.ofNullable(ignoredHeaders).ifPresent(excludedHeaders::addAll);
+		return new HeaderFilter(excludedHeaders);
+	}
+
+	public static HeaderFilter forResponses(List<String> ignoredHeaders) {
+		var excludedHeaders = new ArrayList<>(HOP_BY_HOP_HEADERS);
+		Optional.ofNullable(ignoredHeaders).ifPresent(excludedHeaders::addAll);
+		return new HeaderFilter(excludedHeaders);
+	}
+
+	public boolean isExcluded(String name) {
+		return this.excludedHeaders.contains(name);
+	}
+
+	public HttpHeaders filter(Enumeration<String> names, Function<String, Enumeration<String>> values) {
+		var headers = new HttpHeaders();
+		copy(names, values, headers);
+		return headers;
+	}
+
+	public void copy(Enumeration<String> names, Function<String, Enumeration<String>> values, HttpHeaders target) {
+		var connectionTokens = getConnectionTokens(values.apply(HttpHeaders.CONNECTION));
+		while (names.hasMoreElements()) {
+			var name = names.nextElement();
+			if (!isExcluded(name, connectionTokens)) {
+				// values are read straight from the source: no intermediate copies of the
+				// header set
+				values.apply(name).asIterator().forEachRemaining((value) -> target.add(name, value));
+			}
+		}
+	}
+
+	public HttpHeaders filter(HttpHeaders source) {
+		var headers = new HttpHeaders();
+		copy(source, headers);
+		return headers;
+	}
+
+	public void copy(HttpHeaders source, HttpHeaders target) {
+		if (source != null) {
+			var connectionTokens = getConnectionTokens(source.get(HttpHeaders.CONNECTION));
+			for (Map.Entry<String, List<String>> header : source.entrySet()) {
+				if (!isExcluded(header.getKey(), connectionTokens)) {
+					target.addAll(header.getKey(), header.getValue());
+				}
+			}
+		}
+	}
+
+	private boolean isExcluded(String name, Set<String> connectionTokens) {
+		return this.excludedHeaders.contains(name) || connectionTokens.contains(name);
+	}
+
+	private static Set<String> getConnectionTokens(Enumeration<String> connection) {
+		return (connection == null || !connection.hasMoreElements()) ? Set.of()
+				: getConnectionTokens(Collections.list(connection));
+	}
+
+	private static Set<String> getConnectionTokens(List<String> connection) {
+		if (connection == null || connection.isEmpty()) {
+			return Set.of();
+		}
+		// headers listed in Connection are hop-by-hop as well (RFC 7230 section 6.1)
+		var tokens = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+		for (var value : connection) {
+			for (var token : value.split(",")) {
+				if (!token.isBlank()) {
+					tokens.add(token.trim());
+				}
+			}
+		}
+		return tokens;
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+public class PathPatternTrie<T> {
+
+	private final Node<T> root = new Node<>();
+
+	public void insert(PathPattern pattern, T value) {
+		replace(pattern, value, (entry) -> false);
+	}
+
+	public synchronized void replace(PathPattern pattern, T value, Predicate<Entry<T>> replaced) {
+		var node = this.root;
+		for (var token : tokenize(pattern.getPatternString())) {
+			if (token.equals("**") || token.startsWith("{*")) {
+				replace(node.catchAll, new Entry<>(pattern, value), replaced);
+				return;
+			}
+			else if (token.contains("{") || token.contains("*") || token.contains("?") || token.contains("%")) {
+				node = (node.wildcard != null) ? node.wildcard : (node.wildcard = new Node<>());
+			}
+			else {
+				node = node.literals.computeIfAbsent(token, (t) -> new Node<>());
+			}
+		}
+		replace(node.entries, new Entry<>(pattern, value), replaced);
+	}
+
+	private void replace(List<Entry<T>> entries, Entry<T> entry, Predicate<Entry<T>> replaced) {
+		if (entries.stream().anyMatch(replaced)) {
+			// a single copy-on-write swap: concurrent lookups see either the old or the
+			// new entry
+			entries.replaceAll((existing) -> replaced.test(existing) ? entry : existing);
+		}
+		else {
+			entries.add(entry);
+		}
+	}
+
+	public synchronized void remove(Predicate<Entry<T>> filter) {
+		remove(this.root, filter);
+	}
+
+	private void remove(Node<T> node, Predicate<Entry<T>> filter) {
+		node.entries.removeIf(filter);
+		node.catchAll.removeIf(filter);
+		node.literals.values().forEach((literal) -> remove(literal, filter));
+		if (node.wildcard != null) {
+			remove(node.wildcard, filter);
+		}
+	}
+
+	public List<Entry<T>> match(PathContainer path) {
+		var segments = path.elements()
+			.stream()
+			.filter((element) -> element instanceof PathContainer.PathSegment)
+			.map((element) -> ((PathContainer.PathSegment) element).valueToMatch())
+			.toList();
+		var matches = new ArrayList<Entry<T>>(2);
+		collect(this.root, segments, 0, path, matches);
+		if (matches.size() > 1) {
+			matches.sort((m1, m2) -> PathPattern.SPECIFICITY_COMPARATOR.compare(m1.pattern(), m2.pattern()));
+		}
+		return matches;
+	}
+
+	private void collect(Node<T> node, List<String> segments, int index, PathContainer path, List<Entry<T>> matches) {
+		if (index == segments.size()) {
+			addMatching(node.entries, path, matches);
+		}
+		else {
+			var literal = node.literals.get(segments.get(index));
+			if (literal != null) {
+				collect(literal, segments, index + 1, path, matches);
+			}
+			if (node.wildcard != null) {
+				collect(node.wildcard, segments, index + 1, path, matches);
+			}
+		}
+		addMatching(node.catchAll, path, matches);
+	}
+
+	private void addMatching(List<Entry<T>> entries, PathContainer path, List<Entry<T>> matches) {
+		for (var entry : entries) {
+			if (entry.pattern().matches(path)) {
+				matches.add(entry);
+			}
+		}
+	}
+
+	private static List<String> tokenize(String pattern) {
+		return List.of(pattern.split("/")).stream().filter((token) -> !token.isEmpty()).toList();
+	}
+
+	public record Entry<T>(PathPattern pattern, T value) {
+
+	}
+
+	private static final class Node<T> {
+
+		private final Map<String, Node<T>> literals = new ConcurrentHashMap<>();
+
+		private final List<Entry<T>> entries = new CopyOnWriteArrayList<>();
+
+		private final List<Entry<T>> catchAll = new CopyOnWriteArrayList<>();
+
+		private volatile Node<T> wildcard;
+
+	}
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.AbstractHandlerMapping;
+import org.springframework.web.servlet.handler.ConversionServiceExposingInterceptor;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceUrlProviderExposingInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+
+import com.swisscom.openapi.reverseproxy.client.ProxyMethodInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@ConditionalOnMissingBean(value = ProxyHandlerMapping.class, ignored = ProxyHandlerMapping.class)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Component
+public class ProxyHandlerMapping extends AbstractHandlerMapping {
+
+	private final PathPatternTrie<Route> routes = new PathPatternTrie<>();
+
+	private final RequestMappingHandlerMapping requestMappingHandlerMapping;
+
+	private volatile boolean fastLaneRoutes;
+
+	private List<HandlerInterceptor> guardingInterceptors = List.of();
+
+	public ProxyHandlerMapping(
+			@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping requestMappingHandlerMapping) {
+		this.requestMappingHandlerMapping = requestMappingHandlerMapping;
+		// resolved ahead of the application's own controllers
+		setOrder(requestMappingHandlerMapping.getOrder() - 1);
+	}
+
+	public void registerMapping(RequestMappingInfo requestMappingInfo, Object handler, Method method) {
+		var handlerMethod = new HandlerMethod(handler, method);
+		var requestMethods = requestMappingInfo.getMethodsCondition()
+			.getMethods()
+			.stream()
+			.map((requestMethod) -> requestMethod.asHttpMethod())
+			.toList();
+		var consumes = List.copyOf(requestMappingInfo.getConsumesCondition().getConsumableMediaTypes());
+		var produces = List.copyOf(requestMappingInfo.getProducesCondition().getProducibleMediaTypes());
+		for (var pattern : requestMappingInfo.getPathPatternsCondition().getPatterns()) {
+			// re-registering a pattern and method set swaps the route in place
+			this.routes.replace(pattern, new Route(pattern, requestMethods, consumes, produces, handlerMethod),
+					(entry) -> entry.pattern().equals(pattern)
+							&& Set.copyOf(entry.value().requestMethods()).equals(Set.copyOf(requestMethods)));
+		}
+		if (handler instanceof ProxyMethodInterceptor<?> && ((ProxyMethodInterceptor<?>) handler).isFastLane()) {
+			this.fastLaneRoutes = true;
+		}
+	}
+
+	public void unregisterMapping(String pattern, HttpMethod... requestMethods) {
+		this.routes.remove((entry) -> entry.pattern().getPatternString().equals(pattern) && (requestMethods.length == 0
+				|| Set.copyOf(entry.value().requestMethods()).equals(Set.of(requestMethods))));
+	}
+
+	public boolean hasFastLaneRoutes() {
+		return this.fastLaneRoutes;
+	}
+
+	public HandlerMethod lookupHandlerMethod(HttpServletRequest request) {
+		try {
+			return (HandlerMethod) getHandlerInternal(request);
+		}
+		catch (Exception ex) {
+			// left to the DispatcherServlet, which reports the mismatch
+			return null;
+		}
+	}
+
+	@Override
+	protected void initApplicationContext() {
+		// proxy routes keep the interceptors and the CORS setup of the application's
+		// controllers
+		Optional.ofNullable(this.requestMappingHandlerMapping.getAdaptedInterceptors())
+			.ifPresent((interceptors) -> setInterceptors((Object[]) interceptors));
+		Optional.ofNullable(this.requestMappingHandlerMapping.getCorsConfigurationSource())
+			.ifPresent(this::setCorsConfigurationSource);
+		setCorsProcessor(this.requestMappingHandlerMapping.getCorsProcessor());
+		super.initApplicationContext();
+		// the interceptors Spring MVC always adds only expose request attributes
+		this.guardingInterceptors = Optional.ofNullable(getAdaptedInterceptors())
+			.stream()
+			.flatMap(Arrays::stream)
+			.filter((interceptor) -> !(interceptor instanceof ConversionServiceExposingInterceptor)
+					&& !(interceptor instanceof ResourceUrlProviderExposingInterceptor))
+			.toList();
+	}
+
+	@Override
+	protected void detectMappedInterceptors(List<HandlerInterceptor> mappedInterceptors) {
+		// already part of the interceptors copied from the request mapping handler
+		// mapping
+	}
+
+	public boolean hasInterceptors(HttpServletRequest request) {
+		return this.guardingInterceptors.stream()
+			.anyMatch((interceptor) -> !(interceptor instanceof MappedInterceptor)
+					|| ((MappedInterceptor) interceptor).matches(request));
+	}
+
+	@Override
+	protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
+		initLookupPath(request);
+		var path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+		var candidates = this.routes.match(path);
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		var requestMethod = HttpMethod.valueOf(CorsUtils.isPreFlightRequest(request)
+				? request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD) : request.getMethod());
+		var allowedMethods = new LinkedHashSet<HttpMethod>();
+		var contentType = (MediaType) null;
+		var consumableTypes = new LinkedHashSet<MediaType>();
+		var producibleTypes = new LinkedHashSet<MediaType>();
+		for (var candidate : candidates) {
+			var route = candidate.value();
+			if (!route.matchesMethod(requestMethod)) {
+				allowedMethods.addAll(route.requestMethods());
+				continue;
+			}
+			if (!route.consumes().isEmpty()) {
+				contentType = (contentType != null) ? contentType : getContentType(request);
+				var requestContentType = contentType;
+				if (route.consumes().stream().noneMatch((consumable) -> consumable.includes(requestContentType))) {
+					consumableTypes.addAll(route.consumes());
+					continue;
+				}
+			}
+			if (!route.produces().isEmpty()) {
+				var acceptedTypes = MediaType.parseMediaTypes(
+						Optional.ofNullable(request.getHeader(HttpHeaders.ACCEPT)).orElse(MediaType.ALL_VALUE));
+				if (route.produces()
+					.stream()
+					.noneMatch((producible) -> acceptedTypes.stream()
+						.anyMatch((accepted) -> accepted.isCompatibleWith(producible)))) {
+					producibleTypes.addAll(route.produces());
+					continue;
+				}
+			}
+			exposeRouteAttributes(request, route);
+			return route.handlerMethod();
+		}
+		if (!allowedMethods.isEmpty() && consumableTypes.isEmpty() && producibleTypes.isEmpty()) {
+			if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+				// answered with the allowed methods, as for the application's controllers
+				return new HandlerMethod(new OptionsHandler(allowedMethods), OptionsHandler.HANDLE_METHOD);
+			}
+			throw new HttpRequestMethodNotSupportedException(request.getMethod(),
+					allowedMethods.stream().map((method) -> method.name()).toList());
+		}
+		if (!consumableTypes.isEmpty()) {
+			throw new HttpMediaTypeNotSupportedException(contentType, new ArrayList<>(consumableTypes),
+					HttpMethod.valueOf(request.getMethod()));
+		}
+		throw new HttpMediaTypeNotAcceptableException(new ArrayList<>(producibleTypes));
+	}
+
+	protected void exposeRouteAttributes(HttpServletRequest request, Route route) {
+		var path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route.pattern().getPatternString());
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+				Optional.ofNullable(route.pattern().matchAndExtract(path))
+					.map((pathMatchInfo) -> pathMatchInfo.getUriVariables())
+					.orElse(Map.of()));
+		if (!route.produces().isEmpty()) {
+			request.setAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, Set.copyOf(route.produces()));
+		}
+	}
+
+	public void clearRouteAttributes(HttpServletRequest request) {
+		request.removeAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		request.removeAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		request.removeAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+	}
+
+	protected MediaType getContentType(HttpServletRequest request) throws HttpMediaTypeNotSupportedException {
+		try {
+			return Optional.ofNullable(request.getContentType())
+				.map(MediaType::parseMediaType)
+				.orElse(MediaType.APPLICATION_OCTET_STREAM);
+		}
+		catch (InvalidMediaTypeException ex) {
+			throw new HttpMediaTypeNotSupportedException(ex.getMessage());
+		}
+	}
+
+	private static final class OptionsHandler {
+
+		private static final Method HANDLE_METHOD = ReflectionUtils.findMethod(OptionsHandler.class, "handle");
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		private OptionsHandler(Set<HttpMethod> allowedMethods) {
+			var methods = new LinkedHashSet<>(allowedMethods);
+			if (methods.contains(HttpMethod.GET)) {
+				methods.add(HttpMethod.HEAD);
+			}
+			methods.add(HttpMethod.OPTIONS);
+			this.headers.setAllow(methods);
+		}
+
+		@SuppressWarnings("unused")
+		public HttpHeaders handle() {
+			return this.headers;
+		}
+
+	}
+
+	protected record Route(PathPattern pattern, List<HttpMethod> requestMethods, List<MediaType> consumes,
+			List<MediaType> produces, HandlerMethod handlerMethod) {
+
+		boolean matchesMethod(HttpMethod requestMethod) {
+			return this.requestMethods.isEmpty() || this.requestMethods.contains(requestMethod)
+					|| (HttpMethod.HEAD.equals(requestMethod) && this.requestMethods.contains(HttpMethod.GET));
+		}
+
+	}
+
+}
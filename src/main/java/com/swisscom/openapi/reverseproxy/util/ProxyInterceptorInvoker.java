@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+@FunctionalInterface
+public interface ProxyInterceptorInvoker {
+
+	Object invoke(Object proxyOptionsBean, Object proxyClient);
+
+	static ProxyInterceptorInvoker of(Method interceptorMethod) {
+		if (interceptorMethod == null) {
+			return null;
+		}
+		MethodHandle methodHandle;
+		MethodHandles.Lookup lookup;
+		try {
+			lookup = MethodHandles.privateLookupIn(interceptorMethod.getDeclaringClass(), MethodHandles.lookup());
+			methodHandle = lookup.unreflect(interceptorMethod);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			return reflective(interceptorMethod);
+		}
+		if (interceptorMethod.getReturnType() != void.class && Arrays.stream(interceptorMethod.getExceptionTypes())
+			.allMatch((type) -> RuntimeException.class.isAssignableFrom(type) || Error.class.isAssignableFrom(type))) {
+			try {
+				// a lambda spun in the interceptor class: a direct, inlinable call site
+				return (ProxyInterceptorInvoker) LambdaMetafactory
+					.metafactory(lookup, "invoke", MethodType.methodType(ProxyInterceptorInvoker.class),
+							MethodType.methodType(Object.class, Object.class, Object.class), methodHandle,
+							methodHandle.type())
+					.getTarget()
+					.invoke();
+			}
+			catch (Throwable ex) {
+				// hidden or otherwise unlinkable classes fall back to the method handle
+			}
+		}
+		var invoker = methodHandle.asType(MethodType.methodType(Object.class, Object.class, Object.class));
+		return (proxyOptionsBean, proxyClient) -> {
+			try {
+				return invoker.invokeExact(proxyOptionsBean, proxyClient);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		};
+	}
+
+	static ProxyInterceptorInvoker reflective(Method interceptorMethod) {
+		interceptorMethod.setAccessible(true);
+		return (proxyOptionsBean, proxyClient) -> {
+			try {
+				return interceptorMethod.invoke(proxyOptionsBean, proxyClient);
+			}
+			catch (InvocationTargetException ex) {
+				throw (ex.getTargetException() instanceof RuntimeException) ? (RuntimeException) ex.getTargetException()
+						: new IllegalStateException(ex.getTargetException());
+			}
+			catch (IllegalAccessException ex) {
+				throw new IllegalStateException(ex);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.FatalBeanException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import com.swisscom.openapi.reverseproxy.annotation.ProxyInterceptor;
+
+public class ProxyInterceptorMethodResolver {
+
+	private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+	public Method resolve(Object proxyOptionsBean, String path, List<RequestMethod> requestMethods) {
+		var interceptorMethods = Arrays.stream(ClassUtils.getUserClass(proxyOptionsBean).getMethods())
+			.filter((method) -> Optional.ofNullable(method.getAnnotation(ProxyInterceptor.class))
+				.map((annot) -> matchAnnotationPaths(annot.path(), path)
+						&& matchAnnotationMethods(annot.method(), requestMethods))
+				.orElse(false))
+			.toArray(Method[]::new);
+		if (interceptorMethods.length > 1) {
+			throw new FatalBeanException(
+					"Too many interceptors for the same [path, methods] pair: [" + path + ", " + requestMethods + "]");
+		}
+		if (interceptorMethods.length == 1) {
+			interceptorMethods[0].setAccessible(true);
+			return interceptorMethods[0];
+		}
+		return null;
+	}
+
+	protected boolean matchAnnotationMethods(RequestMethod[] annotationMethods, List<RequestMethod> requestMethods) {
+		return annotationMethods.length == 0 || requestMethods.containsAll(List.of(annotationMethods))
+				|| List.of(annotationMethods).containsAll(requestMethods);
+	}
+
+	protected boolean matchAnnotationPaths(String[] annotationPaths, String path) {
+		return annotationPaths.length == 0 || Arrays.stream(annotationPaths)
+			.anyMatch((ap) -> this.antPathMatcher.match(ap, path) || this.antPathMatcher.match(path, ap));
+	}
+
+}
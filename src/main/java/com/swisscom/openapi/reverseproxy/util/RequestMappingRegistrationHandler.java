@@ -16,13 +16,14 @@
 
 package com.swisscom.openapi.reverseproxy.util;
 
-import java.util.function.Supplier;
+import java.util.Arrays;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.FatalBeanException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo.Builder;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo.BuilderConfiguration;
-import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.pattern.PathPatternParser;
 
 import com.swisscom.openapi.reverseproxy.client.ProxyMethodInterceptor;
@@ -38,17 +39,24 @@ public class RequestMappingRegistrationHandler {
 		}
 	};
 
-	private final Supplier<RequestMappingHandlerMapping> proxyRequestMappingHandlerMappingSupplier;
+	private final ProxyHandlerMapping proxyHandlerMapping;
 
 	public void registerMapping(Builder requestMappingInfoBuilder, ProxyMethodInterceptor<?> methodInterceptor) {
 		try {
-			this.proxyRequestMappingHandlerMappingSupplier.get()
-				.registerMapping(requestMappingInfoBuilder.options(REQUEST_MAPPING_BUILDER_CONFIGURATION).build(),
-						methodInterceptor, methodInterceptor.getInvocationMethod());
+			this.proxyHandlerMapping.registerMapping(
+					requestMappingInfoBuilder.options(REQUEST_MAPPING_BUILDER_CONFIGURATION).build(), methodInterceptor,
+					methodInterceptor.getInvocationMethod());
 		}
 		catch (BeansException | SecurityException ex) {
 			throw new FatalBeanException(ex.getMessage(), ex);
 		}
 	}
 
+	public void unregisterMapping(String path, RequestMethod... requestMethods) {
+		this.proxyHandlerMapping.unregisterMapping(path,
+				Arrays.stream(requestMethods)
+					.map((requestMethod) -> requestMethod.asHttpMethod())
+					.toArray(HttpMethod[]::new));
+	}
+
 }
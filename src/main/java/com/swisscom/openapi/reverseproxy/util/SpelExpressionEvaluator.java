@@ -16,12 +16,19 @@
 
 package com.swisscom.openapi.reverseproxy.util;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
@@ -32,22 +39,36 @@ public class SpelExpressionEvaluator {
 
 	private final StandardEvaluationContext context = new StandardEvaluationContext();
 
-	private final ExpressionParser parser = new SpelExpressionParser();
+	private final ExpressionParser parser = new SpelExpressionParser(
+			new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+
+	private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
 
 	public SpelExpressionEvaluator(BeanFactory beanFactory) {
 		this.context.setBeanResolver(new BeanFactoryResolver(beanFactory));
 	}
 
 	public String evaluate(String expression) {
-		return Optional.ofNullable(expression)
-			.map((expr) -> parse("#{".concat(expr).concat("}")))
-			.filter((parsed) -> !"#{".concat(expression).concat("}").equals(parsed))
-			.orElse(Optional.ofNullable(expression).map(this::parse).orElse(null));
+		return Optional.ofNullable(expression).map((expr) -> getValue(expr, getExpression(expr))).orElse(null);
+	}
+
+	protected Expression getExpression(String expression) {
+		return this.expressions.computeIfAbsent(expression, this::parse);
+	}
+
+	protected Expression parse(String expression) {
+		try {
+			return this.parser.parseExpression(expression);
+		}
+		catch (ParseException | IllegalArgumentException ex) {
+			// not an expression: kept as a literal value
+			return new LiteralExpression(expression);
+		}
 	}
 
-	protected String parse(String expression) {
+	protected String getValue(String expression, Expression compiled) {
 		try {
-			return this.parser.parseExpression(expression).getValue(this.context, String.class);
+			return compiled.getValue(this.context, String.class);
 		}
 		catch (Exception ex) {
 			return expression;
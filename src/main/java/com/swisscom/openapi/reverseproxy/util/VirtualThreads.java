@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class VirtualThreads {
+
+	public static final int DEFAULT_MAX_THREADS = 200;
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+	private static final MethodHandle OF_VIRTUAL;
+
+	private static final MethodHandle NAME;
+
+	private static final MethodHandle FACTORY;
+
+	private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+
+	static {
+		MethodHandle ofVirtual = null;
+		MethodHandle name = null;
+		MethodHandle factory = null;
+		MethodHandle threadPerTaskExecutor = null;
+		try {
+			// resolved reflectively so that the library keeps running on Java 17
+			var lookup = MethodHandles.publicLookup();
+			var builderClass = Class.forName("java.lang.Thread$Builder");
+			var virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+			name = lookup.findVirtual(builderClass, "name",
+					MethodType.methodType(builderClass, String.class, long.class));
+			factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+			threadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+					MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+		}
+		catch (ReflectiveOperationException ex) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		FACTORY = factory;
+		THREAD_PER_TASK_EXECUTOR = threadPerTaskExecutor;
+	}
+
+	private VirtualThreads() {
+	}
+
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	public static ThreadFactory threadFactory(String prefix, boolean virtual) {
+		if (virtual && isSupported()) {
+			try {
+				return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), prefix, 0L));
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+		var counter = new AtomicInteger();
+		return (runnable) -> {
+			var thread = new Thread(runnable, prefix + counter.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	public static ExecutorService newTaskExecutor(String prefix, boolean virtual) {
+		return newTaskExecutor(prefix, virtual, DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	public static ExecutorService newTaskExecutor(String prefix, boolean virtual, int maxThreads, int queueCapacity) {
+		if (virtual && isSupported()) {
+			try {
+				return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(threadFactory(prefix, true));
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+		// platform threads are bounded, a saturated pool rejects with a
+		// RejectedExecutionException
+		var executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(queueCapacity), threadFactory(prefix, false));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+}
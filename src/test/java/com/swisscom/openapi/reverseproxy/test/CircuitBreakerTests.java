@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.swisscom.openapi.reverseproxy.config.CircuitBreakerOptions;
+import com.swisscom.openapi.reverseproxy.resilience.CallNotPermittedException;
+import com.swisscom.openapi.reverseproxy.resilience.CircuitBreaker;
+import com.swisscom.openapi.reverseproxy.resilience.CircuitBreaker.State;
+import com.swisscom.openapi.reverseproxy.resilience.CircuitBreakerRegistry;
+
+public class CircuitBreakerTests {
+
+	@Test
+	void testOpenHalfOpenClose() throws InterruptedException {
+		var circuitBreaker = new CircuitBreaker("http://target",
+				new CircuitBreakerOptions(true, 10, 4, 50, Duration.ofSeconds(5), 100, Duration.ofMillis(50), 2));
+		var calls = new AtomicInteger();
+		for (var i = 0; i < 4; i++) {
+			assertThrows(ResourceAccessException.class, () -> circuitBreaker.execute(() -> {
+				calls.incrementAndGet();
+				throw new ResourceAccessException("down");
+			}));
+		}
+		assertEquals(State.OPEN, circuitBreaker.getState());
+		assertThrows(CallNotPermittedException.class, () -> circuitBreaker.execute(calls::incrementAndGet));
+		assertEquals(4, calls.get());
+		Thread.sleep(60);
+		circuitBreaker.execute(calls::incrementAndGet);
+		assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+		circuitBreaker.execute(calls::incrementAndGet);
+		assertEquals(State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	void testRegistryRejectsConflictingOptions() {
+		var registry = new CircuitBreakerRegistry();
+		var options = new CircuitBreakerOptions(true, 10, 4, 50, Duration.ofSeconds(5), 100, Duration.ofMillis(50), 2);
+		var circuitBreaker = registry.getCircuitBreaker("http://target", options);
+		assertSame(circuitBreaker, registry.getCircuitBreaker("http://target",
+				new CircuitBreakerOptions(true, 10, 4, 50, Duration.ofSeconds(5), 100, Duration.ofMillis(50), 2)));
+		assertThrows(IllegalArgumentException.class, () -> registry.getCircuitBreaker("http://target",
+				new CircuitBreakerOptions(true, 20, 4, 50, Duration.ofSeconds(5), 100, Duration.ofMillis(50), 2)));
+	}
+
+}
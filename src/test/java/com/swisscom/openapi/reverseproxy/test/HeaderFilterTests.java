@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.swisscom.openapi.reverseproxy.util.HeaderFilter;
+
+public class HeaderFilterTests {
+
+	@Test
+	void testRequestHeaders() {
+		var request = new MockHttpServletRequest();
+		request.addHeader("host", "localhost");
+		request.addHeader("connection", "keep-alive, X-Hop");
+		request.addHeader("x-hop", "1");
+		request.addHeader("keep-alive", "timeout=5");
+		request.addHeader("x-internal", "secret");
+		request.addHeader("Accept", "application/json");
+		request.addHeader("Accept", "text/plain");
+		var headers = HeaderFilter.forRequests(List.of("X-Internal"))
+			.filter(request.getHeaderNames(), request::getHeaders);
+		assertEquals(1, headers.size());
+		assertEquals(List.of("application/json", "text/plain"), headers.get(HttpHeaders.ACCEPT));
+	}
+
+	@Test
+	void testCopyRequestHeaders() {
+		var request = new MockHttpServletRequest();
+		request.addHeader("host", "localhost");
+		request.addHeader("connection", "X-Hop");
+		request.addHeader("x-hop", "1");
+		request.addHeader("Accept", "application/json");
+		request.addHeader("Accept", "text/plain");
+		var headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_TYPE, "application/json");
+		HeaderFilter.forRequests(null).copy(request.getHeaderNames(), request::getHeaders, headers);
+		assertEquals(List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT), List.copyOf(headers.keySet()));
+		assertEquals(List.of("application/json", "text/plain"), headers.get("accept"));
+	}
+
+	@Test
+	void testResponseHeaders() {
+		var source = new HttpHeaders();
+		source.add(HttpHeaders.TRANSFER_ENCODING, "chunked");
+		source.add(HttpHeaders.CONNECTION, "close");
+		source.add(HttpHeaders.UPGRADE, "h2c");
+		source.add(HttpHeaders.CONTENT_TYPE, "application/json");
+		source.add(HttpHeaders.HOST, "upstream");
+		var headers = HeaderFilter.forResponses(null).filter(source);
+		assertEquals(List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.HOST), List.copyOf(headers.keySet()));
+		assertTrue(HeaderFilter.forResponses(List.of("x-powered-by")).isExcluded("X-Powered-By"));
+	}
+
+}
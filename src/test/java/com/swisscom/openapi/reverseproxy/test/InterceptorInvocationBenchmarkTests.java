@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorInvoker;
+
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptorInvocationBenchmarkTests {
+
+	Object proxyOptionsBean;
+
+	Method interceptorMethod;
+
+	ProxyInterceptorInvoker interceptorInvoker;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		this.proxyOptionsBean = new Object() {
+			public String intercept(String proxyClient) {
+				return proxyClient;
+			}
+		};
+		this.interceptorMethod = this.proxyOptionsBean.getClass().getMethod("intercept", String.class);
+		this.interceptorMethod.setAccessible(true);
+		this.interceptorInvoker = ProxyInterceptorInvoker.of(this.interceptorMethod);
+	}
+
+	@Benchmark
+	public Object reflective() {
+		try {
+			return this.interceptorMethod.invoke(this.proxyOptionsBean, "cat");
+		}
+		catch (InvocationTargetException ex) {
+			throw new IllegalStateException(ex.getTargetException());
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Benchmark
+	public Object compiled() {
+		return this.interceptorInvoker.invoke(this.proxyOptionsBean, "cat");
+	}
+
+	@Test
+	void benchmarkInterceptorInvocation() throws RunnerException {
+		new Runner(new OptionsBuilder().include(getClass().getName())
+			.forks(0)
+			.warmupIterations(3)
+			.warmupTime(TimeValue.seconds(1))
+			.measurementIterations(5)
+			.measurementTime(TimeValue.seconds(1))
+			.build()).run();
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpServerErrorException;
+
+import com.swisscom.openapi.reverseproxy.balancer.ConsistentHashLoadBalancer;
+import com.swisscom.openapi.reverseproxy.balancer.LeastOutstandingLoadBalancer;
+import com.swisscom.openapi.reverseproxy.balancer.OutlierDetector;
+import com.swisscom.openapi.reverseproxy.balancer.RoundRobinLoadBalancer;
+import com.swisscom.openapi.reverseproxy.balancer.UpstreamInstance;
+import com.swisscom.openapi.reverseproxy.config.OutlierDetectionOptions;
+
+public class LoadBalancerTests {
+
+	List<UpstreamInstance> instances = IntStream.range(0, 3)
+		.mapToObj((i) -> new UpstreamInstance("http://upstream-" + i, null))
+		.toList();
+
+	@Test
+	void testRoundRobin() {
+		var loadBalancer = new RoundRobinLoadBalancer(this.instances);
+		var request = new MockHttpServletRequest();
+		IntStream.range(0, 6).forEach((i) -> assertSame(this.instances.get(i % 3), loadBalancer.choose(request)));
+	}
+
+	@Test
+	void testLeastOutstanding() {
+		var loadBalancer = new LeastOutstandingLoadBalancer(this.instances);
+		var request = new MockHttpServletRequest();
+		this.instances.get(0).call((restOperations) -> this.instances.get(1).call((ro) -> {
+			assertSame(this.instances.get(2), loadBalancer.choose(request));
+			return null;
+		}));
+	}
+
+	@Test
+	void testOutlierEjection() {
+		var loadBalancer = new RoundRobinLoadBalancer(this.instances);
+		loadBalancer.setOutlierDetector(new OutlierDetector(
+				new OutlierDetectionOptions(true, 2, 0, Duration.ofMinutes(1), Duration.ofMinutes(5), 50)));
+		var request = new MockHttpServletRequest();
+		for (var i = 0; i < 2; i++) {
+			assertThrows(HttpServerErrorException.class, () -> loadBalancer.call(request, (restOperations) -> {
+				throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+			}));
+			loadBalancer.choose(request);
+			loadBalancer.choose(request);
+		}
+		assertTrue(this.instances.get(0).isEjected());
+		IntStream.range(0, 6).forEach((i) -> assertNotSame(this.instances.get(0), loadBalancer.choose(request)));
+	}
+
+	@Test
+	void testConsistentHash() {
+		var loadBalancer = new ConsistentHashLoadBalancer(this.instances, "X-User");
+		var request = new MockHttpServletRequest("GET", "/cats");
+		request.addHeader("X-User", "tom");
+		var chosen = loadBalancer.choose(request);
+		IntStream.range(0, 10).forEach((i) -> assertSame(chosen, loadBalancer.choose(request)));
+		var counts = new int[3];
+		IntStream.range(0, 3000).forEach((i) -> {
+			var req = new MockHttpServletRequest("GET", "/cats/" + i);
+			counts[this.instances.indexOf(loadBalancer.choose(req))]++;
+		});
+		IntStream.of(counts).forEach((count) -> assertEquals(1000, count, 400));
+	}
+
+}
@@ -16,16 +16,35 @@
 
 package com.swisscom.openapi.reverseproxy.test;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.swisscom.openapi.reverseproxy.test.contoller.TestController;
 
+import io.swagger.v3.oas.models.OpenAPI;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -34,6 +53,12 @@ public class MainTests {
 
 	RestTemplate restTemplate = new RestTemplate();
 
+	@Autowired
+	TestController testController;
+
+	@Autowired
+	OpenAPI openApi;
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testGetCats() throws JsonProcessingException {
@@ -44,4 +69,135 @@ public class MainTests {
 		assertEquals(proxResponse.size(), response.size() - 1);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	void testStreamCats() {
+		List<Object> response = this.restTemplate.getForObject("http://localhost:8080/cats", List.class);
+		List<Object> proxResponse = this.restTemplate.getForObject("http://localhost:8080/streaming-proxy/cats",
+				List.class);
+		log.info("proxResponse: {}", proxResponse);
+		assertEquals(response, proxResponse);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void testAsyncCats() {
+		List<Object> response = this.restTemplate.getForObject("http://localhost:8080/cats", List.class);
+		var proxResponse = this.restTemplate.getForEntity("http://localhost:8080/async-proxy/cats", List.class);
+		assertEquals(response, proxResponse.getBody());
+		// exchanged on the proxy task executor, not on the container thread
+		assertTrue(proxResponse.getHeaders().getFirst("X-Proxy-Thread").startsWith("proxy-task-"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void testFastLaneCats() {
+		var response = this.restTemplate.getForEntity("http://localhost:8080/test-proxy/cats", List.class);
+		var proxResponse = this.restTemplate.getForEntity("http://localhost:8080/fast-lane-proxy/cats", List.class);
+		assertEquals(this.restTemplate.getForObject("http://localhost:8080/cats", List.class), proxResponse.getBody());
+		// answered before the rest of the filter chain and the DispatcherServlet
+		assertEquals("complete", response.getHeaders().getFirst("X-Filter-Chain"));
+		assertNull(proxResponse.getHeaders().getFirst("X-Filter-Chain"));
+	}
+
+	@Test
+	void testFastLaneFallThrough() {
+		var guardedResponse = this.restTemplate.getForEntity("http://localhost:8080/guarded-fast-lane-proxy/cats",
+				List.class);
+		assertEquals("complete", guardedResponse.getHeaders().getFirst("X-Filter-Chain"));
+		assertEquals("true", guardedResponse.getHeaders().getFirst("X-Intercepted"));
+		// HttpURLConnection drops the restricted Origin header
+		var corsResponse = new RestTemplate(new JdkClientHttpRequestFactory())
+			.exchange(RequestEntity.get(URI.create("http://localhost:8080/fast-lane-proxy/cats"))
+				.header(HttpHeaders.ORIGIN, "http://cats.example")
+				.build(), List.class);
+		assertEquals("complete", corsResponse.getHeaders().getFirst("X-Filter-Chain"));
+	}
+
+	@Test
+	void testControllerSetupApplies() {
+		var response = this.restTemplate.getForEntity("http://localhost:8080/test-proxy/cats", List.class);
+		assertEquals(List.of("true"), response.getHeaders().get("X-Mapped"));
+		var restTemplate = new RestTemplate(new JdkClientHttpRequestFactory());
+		var preFlightResponse = restTemplate
+			.exchange(RequestEntity.options(URI.create("http://localhost:8080/test-proxy/cats"))
+				.header(HttpHeaders.ORIGIN, "http://cats.example")
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+				.build(), String.class);
+		assertEquals("http://cats.example", preFlightResponse.getHeaders().getAccessControlAllowOrigin());
+		var optionsResponse = restTemplate
+			.exchange(RequestEntity.options(URI.create("http://localhost:8080/test-proxy/cats")).build(), String.class);
+		assertTrue(optionsResponse.getHeaders().getAllow().containsAll(List.of(HttpMethod.GET, HttpMethod.OPTIONS)));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void testLazyCats() {
+		// once the specification is in, paths it does not declare are no longer passed
+		// through by the catch-all mapping
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThrows(HttpClientErrorException.NotFound.class, () -> this.restTemplate
+				.postForObject("http://localhost:8080/lazy-proxy/echo", "cat", String.class)));
+		List<Object> response = this.restTemplate.getForObject("http://localhost:8080/cats", List.class);
+		List<Object> proxResponse = this.restTemplate.getForObject("http://localhost:8080/lazy-proxy/cats", List.class);
+		assertEquals(response, proxResponse);
+	}
+
+	@Test
+	void testReloadFile() throws IOException {
+		assertNotNull(this.restTemplate.getForObject("http://localhost:8080/reload-proxy/cats", List.class));
+		Files.writeString(TestApplication.RELOADING_SPECIFICATION,
+				Files.readString(TestApplication.RELOADING_SPECIFICATION).replace("\"/cats\"", "\"/echo\""));
+		assertReloaded("reload-proxy");
+	}
+
+	@Test
+	void testReloadRemote() {
+		// the watcher polls with the entity tag of the loaded specification
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertTrue(this.testController.getNotModifiedSpecifications().get() > 0));
+		this.testController.setSpecification(this.testController.getSpecification().replace("\"/cats\"", "\"/echo\""));
+		assertReloaded("remote-proxy");
+	}
+
+	private void assertReloaded(String prefix) {
+		// routes and merged document switch together
+		await().atMost(Duration.ofSeconds(10)).ignoreExceptions().untilAsserted(() -> {
+			assertEquals("null|[]",
+					this.restTemplate
+						.exchange(RequestEntity.post(URI.create("http://localhost:8080/" + prefix + "/echo"))
+							.contentType(MediaType.APPLICATION_JSON)
+							.body("[]"), String.class)
+						.getBody());
+			assertThrows(HttpClientErrorException.NotFound.class,
+					() -> this.restTemplate.getForObject("http://localhost:8080/" + prefix + "/cats", String.class));
+			assertTrue(this.openApi.getPaths().containsKey("/" + prefix + "/echo"));
+			assertFalse(this.openApi.getPaths().containsKey("/" + prefix + "/cats"));
+		});
+	}
+
+	@Test
+	void testRawPassThrough() {
+		var response = this.restTemplate
+			.exchange(RequestEntity.post(URI.create("http://localhost:8080/raw-proxy/echo?z=1&y=%2F&z=0"))
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+				.body("b=2&a=%C3%A9&a=x+y"), String.class);
+		assertEquals("z=1&y=%2F&z=0|b=2&a=%C3%A9&a=x+y", response.getBody());
+	}
+
+	@Test
+	void testMethodNotAllowed() {
+		var ex = assertThrows(HttpClientErrorException.MethodNotAllowed.class, () -> this.restTemplate
+			.exchange("http://localhost:8080/test-proxy/cats", HttpMethod.DELETE, null, String.class));
+		assertTrue(ex.getResponseHeaders().getAllow().contains(HttpMethod.GET));
+	}
+
+	@Test
+	void testCacheCats() {
+		var response = this.restTemplate.getForEntity("http://localhost:8080/caching-proxy/cats", List.class);
+		var cachedResponse = this.restTemplate.getForEntity("http://localhost:8080/caching-proxy/cats", List.class);
+		assertEquals(response.getBody(), cachedResponse.getBody());
+		assertNotNull(cachedResponse.getHeaders().getFirst(HttpHeaders.AGE));
+	}
+
 }
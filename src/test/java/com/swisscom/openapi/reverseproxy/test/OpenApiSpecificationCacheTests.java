@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.swisscom.openapi.reverseproxy.config.ProxyOptions;
+import com.swisscom.openapi.reverseproxy.config.ProxyResourceLoader;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiSpecificationCache;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+
+public class OpenApiSpecificationCacheTests {
+
+	static final String SPECIFICATION = """
+			openapi: 3.0.1
+			info:
+			  title: cats
+			  version: 1.0.0
+			paths:
+			  /cats:
+			    get:
+			      responses:
+			        '200':
+			          description: ok
+			""";
+
+	@TempDir
+	Path directory;
+
+	AtomicInteger parsed = new AtomicInteger();
+
+	@Test
+	void testUnchangedSpecificationIsNotParsedAgain() {
+		var cache = new OpenApiSpecificationCache(this.directory);
+		assertEquals("cats", cache.load("cats", () -> SPECIFICATION, this::parse).getInfo().getTitle());
+		var openApi = new OpenApiSpecificationCache(this.directory).load("cats", () -> SPECIFICATION, this::parse);
+		assertEquals(1, this.parsed.get());
+		assertEquals("cats", openApi.getInfo().getTitle());
+		assertEquals(1, openApi.getPaths().size());
+
+		cache.load("cats", () -> SPECIFICATION.replace("cats", "dogs"), this::parse);
+		assertEquals(2, this.parsed.get());
+	}
+
+	@Test
+	void testStaleFallbackWhenSourceIsUnreachable() {
+		var cache = new OpenApiSpecificationCache(this.directory);
+		cache.load("cats", () -> SPECIFICATION, this::parse);
+		var openApi = cache.load("cats", () -> {
+			throw new ConnectException("down");
+		}, this::parse);
+		assertEquals("cats", openApi.getInfo().getTitle());
+		assertThrows(RuntimeException.class, () -> cache.load("dogs", () -> {
+			throw new IOException("down");
+		}, this::parse));
+	}
+
+	@Test
+	void testStaleFallbackWhenTargetIsUnreachable() throws IOException {
+		var cache = new OpenApiSpecificationCache(this.directory);
+		cache.load("cats", () -> SPECIFICATION, this::parse);
+		var specification = new ProxyResourceLoader(new TestProxyOptions("http://localhost:1"),
+				new DefaultResourceLoader(), (target) -> new RestTemplate())
+			.getResource("/v3/api-docs");
+		var openApi = cache.load("cats",
+				() -> StreamUtils.copyToString(specification.getInputStream(), StandardCharsets.UTF_8), this::parse);
+		assertEquals("cats", openApi.getInfo().getTitle());
+		assertEquals(1, this.parsed.get());
+		// without a target there is nothing to fetch: the location is inline content
+		var inline = new ProxyResourceLoader(new TestProxyOptions(null), new DefaultResourceLoader(),
+				(target) -> new RestTemplate())
+			.getResource("/v3/api-docs");
+		assertEquals("/v3/api-docs", StreamUtils.copyToString(inline.getInputStream(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testUnparseableSpecificationIsNotMasked() {
+		var cache = new OpenApiSpecificationCache(this.directory);
+		cache.load("cats", () -> SPECIFICATION, this::parse);
+		assertThrows(IllegalArgumentException.class, () -> cache.load("cats", () -> "- cats", this::parse));
+	}
+
+	@Test
+	void testExternalReferencesAreParsedAgain() {
+		var cache = new OpenApiSpecificationCache(this.directory);
+		var specification = SPECIFICATION.replace("description: ok", "$ref: 'https://cats.example/responses.yaml#/Ok'");
+		cache.load("cats", () -> specification, this::parse);
+		cache.load("cats", () -> specification, this::parse);
+		assertEquals(2, this.parsed.get());
+	}
+
+	OpenAPI parse(String content) {
+		this.parsed.incrementAndGet();
+		return Optional.ofNullable(new OpenAPIParser().readContents(content, null, null).getOpenAPI())
+			.orElseThrow(() -> new IllegalArgumentException("Unparseable specification"));
+	}
+
+	private static final class TestProxyOptions implements ProxyOptions {
+
+		private final String target;
+
+		private TestProxyOptions(String target) {
+			this.target = target;
+		}
+
+		@Override
+		public String getSpecification() {
+			return "/v3/api-docs";
+		}
+
+		@Override
+		public String getPrefix() {
+			return "cats";
+		}
+
+		@Override
+		public String getTarget() {
+			return this.target;
+		}
+
+		@Override
+		public List<String> getIgnoredRequestHeaders() {
+			return List.of();
+		}
+
+		@Override
+		public List<String> getIgnoredResponseHeaders() {
+			return List.of();
+		}
+
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.swisscom.openapi.reverseproxy.util.PathPatternTrie;
+
+public class PathPatternTrieTests {
+
+	@Test
+	void testMostSpecificFirst() {
+		var trie = new PathPatternTrie<String>();
+		var parser = PathPatternParser.defaultInstance;
+		trie.insert(parser.parse("/cats/{id}"), "cat");
+		trie.insert(parser.parse("/cats/count"), "count");
+		trie.insert(parser.parse("/cats/**"), "any");
+		trie.insert(parser.parse("/dogs/{id}.json"), "dog");
+
+		var matches = trie.match(PathContainer.parsePath("/cats/count"));
+		assertEquals(3, matches.size());
+		assertEquals("count", matches.get(0).value());
+		assertEquals("cat", matches.get(1).value());
+		assertEquals("any", matches.get(2).value());
+
+		assertEquals("any", trie.match(PathContainer.parsePath("/cats")).get(0).value());
+		assertEquals("dog", trie.match(PathContainer.parsePath("/dogs/rex.json")).get(0).value());
+		assertTrue(trie.match(PathContainer.parsePath("/dogs/rex")).isEmpty());
+		assertTrue(trie.match(PathContainer.parsePath("/birds")).isEmpty());
+
+		trie.remove((entry) -> entry.pattern().getPatternString().equals("/cats/**"));
+		assertEquals(2, trie.match(PathContainer.parsePath("/cats/count")).size());
+		assertTrue(trie.match(PathContainer.parsePath("/cats")).isEmpty());
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.RequestEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import com.swisscom.openapi.reverseproxy.client.ProxyClient;
+import com.swisscom.openapi.reverseproxy.client.ProxyExchange;
+import com.swisscom.openapi.reverseproxy.client.ProxyResource;
+import com.swisscom.openapi.reverseproxy.client.ReplayableBodyStore;
+import com.swisscom.openapi.reverseproxy.config.RequestBufferOptions;
+import com.swisscom.openapi.reverseproxy.util.HeaderFilter;
+
+public class ProxyExchangeTests {
+
+	ReplayableBodyStore store = new ReplayableBodyStore(new RequestBufferOptions(DataSize.ofKilobytes(16),
+			DataSize.ofKilobytes(100), DataSize.ofKilobytes(500), DataSize.ofKilobytes(64)));
+
+	TestProxyClient proxyClient = new TestProxyClient(this.store);
+
+	@Test
+	void testBindExchange() {
+		var request = new MockHttpServletRequest("POST", "/test-proxy/cats");
+		request.addHeader(HttpHeaders.HOST, "localhost");
+		request.addHeader("X-Cat", "Tom");
+		var exchange = this.proxyClient.bind(request);
+		assertSame(exchange, this.proxyClient.getExchange());
+		assertEquals("/cats", exchange.getRequestUri());
+		assertEquals(HttpMethod.POST, exchange.getMethod());
+		var requestEntity = this.proxyClient.requestEntity();
+		assertEquals(HttpMethod.POST, requestEntity.getMethod());
+		assertEquals(List.of("Tom"), requestEntity.getHeaders().get("X-Cat"));
+		assertFalse(requestEntity.getHeaders().containsKey(HttpHeaders.HOST));
+		assertSame(requestEntity, this.proxyClient.requestEntity());
+		this.proxyClient.release();
+	}
+
+	@Test
+	void testReleaseExchange() throws IOException {
+		var request = new MockHttpServletRequest("POST", "/test-proxy/cats");
+		request.setContent(new byte[50 * 1024]);
+		this.proxyClient.bind(request);
+		var requestBody = (ProxyResource) this.proxyClient.requestEntity().getBody();
+		assertSame(requestBody, this.proxyClient.getExchange().getRequestBody());
+		assertEquals(50 * 1024, requestBody.getInputStream().readAllBytes().length);
+		assertEquals(0, this.store.getBufferPool().getFreeChunks());
+		this.proxyClient.release();
+		// buffered chunks are back in the pool and nothing is left on the thread
+		assertEquals(4, this.store.getBufferPool().getFreeChunks());
+		assertThrows(IllegalStateException.class, () -> this.proxyClient.getExchange());
+		this.proxyClient.release();
+	}
+
+	static class TestProxyClient extends ProxyClient {
+
+		TestProxyClient(ReplayableBodyStore replayableBodyStore) {
+			super(null, null, null, null, null, false, false, false, null, replayableBodyStore, null, null,
+					"test-proxy", HeaderFilter.forRequests(List.of()), HeaderFilter.forResponses(List.of()));
+		}
+
+		ProxyExchange bind(MockHttpServletRequest request) {
+			return bindExchange(request, null);
+		}
+
+		RequestEntity<Object> requestEntity() {
+			return requestEntity(null, true);
+		}
+
+		void release() {
+			releaseExchange();
+		}
+
+	}
+
+}
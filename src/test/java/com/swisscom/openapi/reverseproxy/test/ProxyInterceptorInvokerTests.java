@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.swisscom.openapi.reverseproxy.util.ProxyInterceptorInvoker;
+
+public class ProxyInterceptorInvokerTests {
+
+	@Test
+	void testAnonymousClass() throws NoSuchMethodException {
+		var bean = new Object() {
+			public String greet(String name) {
+				return "hello " + name;
+			}
+
+			public void ignore(String name) {
+			}
+		};
+		assertEquals("hello cat",
+				ProxyInterceptorInvoker.of(bean.getClass().getMethod("greet", String.class)).invoke(bean, "cat"));
+		assertNull(ProxyInterceptorInvoker.of(bean.getClass().getMethod("ignore", String.class)).invoke(bean, "cat"));
+	}
+
+	@Test
+	void testHiddenClass() throws NoSuchMethodException {
+		Function<Object, Object> bean = (name) -> "hello " + name;
+		assertEquals("hello cat",
+				ProxyInterceptorInvoker.of(bean.getClass().getMethod("apply", Object.class)).invoke(bean, "cat"));
+	}
+
+	@Test
+	void testExceptions() throws NoSuchMethodException {
+		var bean = new Object() {
+			public String unchecked(String name) {
+				throw new IllegalArgumentException(name);
+			}
+
+			public String checked(String name) throws IOException {
+				throw new IOException(name);
+			}
+		};
+		assertThrows(IllegalArgumentException.class,
+				() -> ProxyInterceptorInvoker.of(bean.getClass().getMethod("unchecked", String.class))
+					.invoke(bean, "cat"));
+		assertEquals(IOException.class,
+				assertThrows(IllegalStateException.class,
+						() -> ProxyInterceptorInvoker.of(bean.getClass().getMethod("checked", String.class))
+							.invoke(bean, "cat"))
+					.getCause()
+					.getClass());
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+import com.swisscom.openapi.reverseproxy.client.ProxyRestOperationProvider;
+import com.swisscom.openapi.reverseproxy.config.ConnectionPoolOptions;
+
+public class ProxyRestOperationProviderTests {
+
+	HttpServer upstream;
+
+	String target;
+
+	ProxyRestOperationProvider restOperationsProvider = new ProxyRestOperationProvider(Optional.empty());
+
+	@BeforeEach
+	void startUpstream() throws IOException {
+		this.upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.upstream.createContext("/cats", (exchange) -> {
+			var body = "[]".getBytes();
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		this.upstream.start();
+		this.target = "http://localhost:" + this.upstream.getAddress().getPort();
+	}
+
+	@AfterEach
+	void stopUpstream() throws IOException {
+		this.restOperationsProvider.destroy();
+		this.upstream.stop(0);
+	}
+
+	@Test
+	void testPoolPerTargetAndOptions() {
+		var small = pool(3, Duration.ofSeconds(30));
+		var restOperations = this.restOperationsProvider.getRestOperations(this.target, small);
+		assertSame(restOperations,
+				this.restOperationsProvider.getRestOperations(this.target, pool(3, Duration.ofSeconds(30))));
+		assertEquals(3, this.restOperationsProvider.getConnectionPoolStats().get(this.target).getMax());
+
+		// a second proxy on the same target keeps its own sizing
+		assertNotSame(restOperations,
+				this.restOperationsProvider.getRestOperations(this.target, pool(5, Duration.ofSeconds(30))));
+		assertEquals(8, this.restOperationsProvider.getConnectionPoolStats().get(this.target).getMax());
+	}
+
+	@Test
+	void testIdleConnectionEviction() {
+		var restOperations = this.restOperationsProvider.getRestOperations(this.target,
+				pool(3, Duration.ofMillis(200)));
+		assertEquals("[]", restOperations.getForObject("/cats", String.class));
+		assertEquals(1, this.restOperationsProvider.getConnectionPoolStats().get(this.target).getAvailable());
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertEquals(0,
+					this.restOperationsProvider.getConnectionPoolStats().get(this.target).getAvailable()));
+	}
+
+	ConnectionPoolOptions pool(int maxTotal, Duration idleTimeout) {
+		var defaults = ConnectionPoolOptions.DEFAULT;
+		return new ConnectionPoolOptions(maxTotal, maxTotal, defaults.connectTimeout(), defaults.readTimeout(),
+				defaults.connectionRequestTimeout(), idleTimeout, defaults.timeToLive());
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.swisscom.openapi.reverseproxy.client.ProxySwaggerSpecMethodInterceptor;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiDocument;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+
+public class ProxySwaggerSpecMethodInterceptorTests {
+
+	OpenAPI openApi = new OpenAPI().info(new Info().title("Cats").version("1.0"));
+
+	ProxySwaggerSpecMethodInterceptor interceptor = new ProxySwaggerSpecMethodInterceptor(
+			new OpenApiDocument("test-proxy", () -> this.openApi, false));
+
+	@Test
+	void testNotModified() {
+		var response = this.interceptor.invoke(new MockHttpServletRequest("GET", "/test-proxy/api-docs.json"));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+		assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+		var request = new MockHttpServletRequest("GET", "/test-proxy/api-docs.json");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeaders().getETag());
+		var notModified = this.interceptor.invoke(request);
+		assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+		assertEquals(response.getHeaders().getETag(), notModified.getHeaders().getETag());
+		assertNull(notModified.getBody());
+	}
+
+	@Test
+	void testGzip() throws IOException {
+		var response = this.interceptor.invoke(new MockHttpServletRequest("GET", "/test-proxy/api-docs.json"));
+		var request = new MockHttpServletRequest("GET", "/test-proxy/api-docs.json");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeaders().getETag());
+		// the identity entity tag does not validate the gzip representation
+		var gzipped = this.interceptor.invoke(request);
+		assertEquals(HttpStatus.OK, gzipped.getStatusCode());
+		assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertNotEquals(response.getHeaders().getETag(), gzipped.getHeaders().getETag());
+		try (var in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+			assertEquals(new String(response.getBody(), StandardCharsets.UTF_8),
+					new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		var gzipRequest = new MockHttpServletRequest("GET", "/test-proxy/api-docs.json");
+		gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=1.0");
+		gzipRequest.addHeader(HttpHeaders.IF_NONE_MATCH, gzipped.getHeaders().getETag());
+		assertEquals(HttpStatus.NOT_MODIFIED, this.interceptor.invoke(gzipRequest).getStatusCode());
+		var identityRequest = new MockHttpServletRequest("GET", "/test-proxy/api-docs.json");
+		identityRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+		assertNull(this.interceptor.invoke(identityRequest).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.swisscom.openapi.reverseproxy.annotation.ProxyInterceptor;
+import com.swisscom.openapi.reverseproxy.config.ProxyOptions;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiRegistry;
+import com.swisscom.openapi.reverseproxy.openapi.OpenApiSpecificationCache;
+import com.swisscom.openapi.reverseproxy.reactive.ReactiveOpenApiManager;
+import com.swisscom.openapi.reverseproxy.reactive.ReactiveProxyClient;
+import com.swisscom.openapi.reverseproxy.reactive.ReactiveProxyRouterFunction;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import reactor.core.publisher.Mono;
+
+public class ReactiveProxyTests {
+
+	private final AtomicReference<ClientRequest> upstreamRequest = new AtomicReference<>();
+
+	private final WebClient webClient = WebClient.builder().exchangeFunction((request) -> {
+		this.upstreamRequest.set(request);
+		return Mono.just(ClientResponse.create(HttpStatus.OK)
+			.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+			.header(HttpHeaders.CONNECTION, "keep-alive")
+			.body("[{\"name\":\"Tom\"},{\"name\":\"Felix\"}]")
+			.build());
+	}).build();
+
+	@Test
+	void testExchange() {
+		var webTestClient = buildWebTestClient(new Object());
+		webTestClient.get()
+			.uri("/reactive-proxy/cats?name=Tom")
+			.header("X-Internal", "secret")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectHeader()
+			.doesNotExist(HttpHeaders.CONNECTION)
+			.expectBody(String.class)
+			.isEqualTo("[{\"name\":\"Tom\"},{\"name\":\"Felix\"}]");
+		assertEquals("http://localhost:8080/cats?name=Tom", this.upstreamRequest.get().url().toString());
+		assertFalse(this.upstreamRequest.get().headers().containsKey("X-Internal"));
+	}
+
+	@Test
+	void testInterceptor() {
+		var webTestClient = buildWebTestClient(new Object() {
+			@ProxyInterceptor(path = "/reactive-proxy/cats", method = RequestMethod.GET)
+			public Mono<Integer> countCats(ReactiveProxyClient proxyClient) {
+				return proxyClient.getResponseBody(new ParameterizedTypeReference<List<Map<String, Object>>>() {
+				}).map((cats) -> cats.size());
+			}
+		});
+		webTestClient.get()
+			.uri("/reactive-proxy/cats")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectBody(Integer.class)
+			.isEqualTo(2);
+	}
+
+	@Test
+	void testApiDocs() {
+		buildWebTestClient(new Object()).get()
+			.uri("/reactive-proxy/api-docs.json")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectBody()
+			.jsonPath("$.paths['/reactive-proxy/cats']")
+			.exists();
+	}
+
+	@Test
+	void testApiDocsNotModified() {
+		var webTestClient = buildWebTestClient(new Object());
+		var entityTag = webTestClient.get()
+			.uri("/reactive-proxy/api-docs.yaml")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectHeader()
+			.contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+			.expectBody(String.class)
+			.value((body) -> assertTrue(body.startsWith("openapi:")))
+			.returnResult()
+			.getResponseHeaders()
+			.getETag();
+		webTestClient.get()
+			.uri("/reactive-proxy/api-docs.yaml")
+			.ifNoneMatch(entityTag)
+			.exchange()
+			.expectStatus()
+			.isNotModified();
+		webTestClient.get()
+			.uri("/reactive-proxy/api-docs.yaml")
+			.header(HttpHeaders.ACCEPT_ENCODING, "br, gzip")
+			.ifNoneMatch(entityTag)
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectHeader()
+			.valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+	}
+
+	@Test
+	void testReload() {
+		var routerFunction = new ReactiveProxyRouterFunction();
+		var openApiManager = new ReactiveOpenApiManager(routerFunction, () -> null, new OpenApiRegistry(), List.of(),
+				new OpenApiSpecificationCache(null));
+		var proxyOptions = new TestProxyOptions();
+		var openApi = openApiManager.loadSpecification(proxyOptions, new DefaultResourceLoader());
+		var servers = openApi.getServers();
+		openApiManager.register(proxyOptions, openApi, this::buildProxyClient).registerPathMappings(new Object());
+
+		var reloadedOpenApi = openApiManager.loadSpecification(proxyOptions, new DefaultResourceLoader());
+		reloadedOpenApi.getPaths()
+			.addPathItem("/reactive-proxy/dogs", reloadedOpenApi.getPaths().remove("/reactive-proxy/cats"));
+		openApiManager.reload(proxyOptions, new Object(), openApi, servers, reloadedOpenApi, this::buildProxyClient);
+
+		var webTestClient = WebTestClient.bindToRouterFunction(routerFunction).build();
+		webTestClient.get().uri("/reactive-proxy/cats").exchange().expectStatus().isNotFound();
+		webTestClient.get().uri("/reactive-proxy/dogs").exchange().expectStatus().isOk();
+		webTestClient.get()
+			.uri("/reactive-proxy/api-docs.json")
+			.exchange()
+			.expectBody()
+			.jsonPath("$.paths['/reactive-proxy/dogs']")
+			.exists()
+			.jsonPath("$.paths['/reactive-proxy/cats']")
+			.doesNotExist();
+	}
+
+	private WebTestClient buildWebTestClient(Object proxyOptionsBean) {
+		var routerFunction = new ReactiveProxyRouterFunction();
+		new ReactiveOpenApiManager(routerFunction, () -> null, new OpenApiRegistry(), List.of(),
+				new OpenApiSpecificationCache(null))
+			.parse(new TestProxyOptions(), new DefaultResourceLoader(), this::buildProxyClient)
+			.registerPathMappings(proxyOptionsBean);
+		return WebTestClient.bindToRouterFunction(routerFunction).build();
+	}
+
+	private ReactiveProxyClient buildProxyClient(ProxyOptions proxyOptions, OpenAPI openApi) {
+		return new ReactiveProxyClient(this.webClient, "http://localhost:8080", proxyOptions.getPrefix(),
+				proxyOptions.getIgnoredRequestHeaders(), proxyOptions.getIgnoredResponseHeaders());
+	}
+
+	private static final class TestProxyOptions implements ProxyOptions {
+
+		@Override
+		public String getSpecification() {
+			return "classpath:/cats.openapi.json";
+		}
+
+		@Override
+		public String getPrefix() {
+			return "reactive-proxy";
+		}
+
+		@Override
+		public String getTarget() {
+			return null;
+		}
+
+		@Override
+		public List<String> getIgnoredRequestHeaders() {
+			return List.of("X-Internal");
+		}
+
+		@Override
+		public List<String> getIgnoredResponseHeaders() {
+			return List.of();
+		}
+
+	}
+
+}
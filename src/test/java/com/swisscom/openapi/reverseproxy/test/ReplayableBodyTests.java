@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.PayloadTooLargeException;
+
+import com.swisscom.openapi.reverseproxy.client.ReplayableBodyStore;
+import com.swisscom.openapi.reverseproxy.config.RequestBufferOptions;
+
+public class ReplayableBodyTests {
+
+	ReplayableBodyStore store = new ReplayableBodyStore(new RequestBufferOptions(DataSize.ofKilobytes(16),
+			DataSize.ofKilobytes(100), DataSize.ofKilobytes(500), DataSize.ofKilobytes(64)));
+
+	@Test
+	void testReplayInMemory() throws IOException {
+		var content = randomBytes(50 * 1024);
+		try (var body = this.store.open(new ByteArrayInputStream(content))) {
+			assertArrayEquals(content, body.getInputStream().readAllBytes());
+			assertArrayEquals(content, body.getInputStream().readAllBytes());
+			assertFalse(body.isSpilled());
+		}
+		assertEquals(4, this.store.getBufferPool().getFreeChunks());
+	}
+
+	@Test
+	void testReplayAfterSpill() throws IOException {
+		var content = randomBytes(300 * 1024);
+		try (var body = this.store.open(new ByteArrayInputStream(content))) {
+			var partial = body.getInputStream();
+			partial.readNBytes(70 * 1024);
+			assertArrayEquals(content, body.getInputStream().readAllBytes());
+			assertTrue(body.isSpilled());
+			assertEquals(content[70 * 1024] & 0xff, partial.read());
+		}
+	}
+
+	@Test
+	void testMaxSizeExceeded() throws IOException {
+		try (var body = this.store.open(new ByteArrayInputStream(randomBytes(600 * 1024)))) {
+			assertThrows(PayloadTooLargeException.class, () -> body.getInputStream().readAllBytes());
+		}
+	}
+
+	private static byte[] randomBytes(int size) {
+		var bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.swisscom.openapi.reverseproxy.cache.CachedClientHttpResponse;
+import com.swisscom.openapi.reverseproxy.cache.RequestCoalescer;
+
+public class RequestCoalescerTests {
+
+	@Test
+	void testSingleFlight() throws InterruptedException, ExecutionException {
+		var coalescer = new RequestCoalescer();
+		var exchanges = new AtomicInteger();
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var executor = Executors.newFixedThreadPool(8);
+		try {
+			var leader = executor.submit(() -> coalescer.execute("GET /cats", () -> {
+				exchanges.incrementAndGet();
+				started.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return new CachedClientHttpResponse(HttpStatus.OK, new HttpHeaders(),
+						"[]".getBytes(StandardCharsets.UTF_8));
+			}));
+			started.await(5, TimeUnit.SECONDS);
+			var followers = new ArrayList<Future<CachedClientHttpResponse>>();
+			for (var i = 0; i < 7; i++) {
+				followers.add(executor.submit(() -> coalescer.execute("GET /cats", () -> {
+					exchanges.incrementAndGet();
+					return null;
+				})));
+			}
+			while (coalescer.getFollowers() < 7) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+			var response = leader.get();
+			for (var follower : followers) {
+				assertArrayEquals(response.getBodyAsByteArray(), follower.get().getBodyAsByteArray());
+				assertNotSame(response.getBodyAsByteArray(), follower.get().getBodyAsByteArray());
+			}
+			assertEquals(1, exchanges.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.swisscom.openapi.reverseproxy.cache.CachePolicy;
+import com.swisscom.openapi.reverseproxy.cache.CachedResponse;
+import com.swisscom.openapi.reverseproxy.cache.ResponseCache;
+import com.swisscom.openapi.reverseproxy.config.ResponseCacheOptions;
+
+public class ResponseCacheTests {
+
+	private static final CachePolicy POLICY = new CachePolicy(true, Duration.ofMinutes(1), null, null);
+
+	private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void testAuthorizedRequests() {
+		var now = System.currentTimeMillis();
+		assertNull(CachedResponse.of(HttpStatus.OK, new HttpHeaders(), BODY, POLICY, true, now));
+		var publicHeaders = new HttpHeaders();
+		publicHeaders.setCacheControl("public, max-age=60");
+		var response = CachedResponse.of(HttpStatus.OK, publicHeaders, BODY, POLICY, true, now);
+		assertNotNull(response);
+
+		var cache = new ResponseCache(ResponseCacheOptions.DEFAULT, Runnable::run);
+		var alice = new HttpHeaders();
+		alice.setBearerAuth("alice");
+		var bob = new HttpHeaders();
+		bob.setBearerAuth("bob");
+		cache.put("GET /cats", alice, response);
+		assertSame(response, cache.get("GET /cats", alice));
+		assertNull(cache.get("GET /cats", bob));
+		assertNull(cache.get("GET /cats", new HttpHeaders()));
+	}
+
+	@Test
+	void testUncacheableResponses() {
+		var now = System.currentTimeMillis();
+		var cookieHeaders = new HttpHeaders();
+		cookieHeaders.setCacheControl("public, max-age=60");
+		cookieHeaders.add(HttpHeaders.SET_COOKIE, "session=1");
+		assertNull(CachedResponse.of(HttpStatus.OK, cookieHeaders, BODY, POLICY, false, now));
+
+		var noCacheHeaders = new HttpHeaders();
+		noCacheHeaders.setPragma("no-cache");
+		noCacheHeaders.setETag("\"1\"");
+		var noCache = CachedResponse.of(HttpStatus.OK, noCacheHeaders, BODY, POLICY, false, now);
+		assertNotNull(noCache);
+		assertFalse(noCache.isFresh(now));
+		assertFalse(noCache.isStaleWhileRevalidate(now));
+	}
+
+}
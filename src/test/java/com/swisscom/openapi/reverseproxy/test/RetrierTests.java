@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.swisscom.openapi.reverseproxy.config.RetryOptions;
+import com.swisscom.openapi.reverseproxy.resilience.Retrier;
+import com.swisscom.openapi.reverseproxy.resilience.RetryBudget;
+import com.swisscom.openapi.reverseproxy.resilience.RetryPolicy;
+import com.swisscom.openapi.reverseproxy.resilience.RetryRegistry;
+
+import io.swagger.v3.oas.models.Operation;
+
+public class RetrierTests {
+
+	RetryPolicy policy = RetryPolicy.of(new RetryOptions(true, 3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0, 0.5,
+			true, List.of(503), 0.2, 10), false);
+
+	@Test
+	void testRetryIdempotentStatus() {
+		var retrier = new Retrier(new RetryBudget(0.2, 10));
+		var calls = new AtomicInteger();
+		var result = retrier.execute(this.policy, HttpMethod.GET, () -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+			}
+			return "ok";
+		});
+		assertEquals("ok", result);
+		assertEquals(2, retrier.getMetrics().getRetries());
+	}
+
+	@Test
+	void testNoRetryNonIdempotent() {
+		var retrier = new Retrier(new RetryBudget(0.2, 10));
+		var calls = new AtomicInteger();
+		assertThrows(HttpServerErrorException.class, () -> retrier.execute(this.policy, HttpMethod.POST, () -> {
+			calls.incrementAndGet();
+			throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+		}));
+		assertEquals(1, calls.get());
+		var connectCalls = new AtomicInteger();
+		assertThrows(ResourceAccessException.class, () -> retrier.execute(this.policy, HttpMethod.POST, () -> {
+			connectCalls.incrementAndGet();
+			throw new ResourceAccessException("refused", new ConnectException());
+		}));
+		assertEquals(3, connectCalls.get());
+	}
+
+	@Test
+	void testOperationExtensions() {
+		var operation = new Operation()
+			.extensions(Map.of("x-proxy-retry", Map.of("maxAttempts", 5), "x-proxy-idempotent", true));
+		var operationPolicy = this.policy.forOperation(operation);
+		assertEquals(5, operationPolicy.maxAttempts());
+		assertEquals(true, operationPolicy.isIdempotent(HttpMethod.POST));
+		assertEquals(false,
+				this.policy.forOperation(new Operation().extensions(Map.of("x-proxy-retry", false))).enabled());
+	}
+
+	@Test
+	void testRegistryRejectsConflictingBudgets() {
+		var registry = new RetryRegistry();
+		var retrier = registry.getRetrier("http://target", new RetryOptions(true, 3, Duration.ofMillis(1),
+				Duration.ofMillis(5), 2.0, 0.5, true, List.of(503), 0.2, 10));
+		assertSame(retrier, registry.getRetrier("http://target", new RetryOptions(true, 5, Duration.ofMillis(1),
+				Duration.ofMillis(5), 2.0, 0.5, true, List.of(502, 503), 0.2, 10)));
+		assertThrows(IllegalArgumentException.class, () -> registry.getRetrier("http://target", new RetryOptions(true,
+				3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0, 0.5, true, List.of(503), 0.5, 10)));
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import com.swisscom.openapi.reverseproxy.util.SpelExpressionEvaluator;
+
+public class SpelExpressionEvaluatorTests {
+
+	@Test
+	void testEvaluate() {
+		var beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("settings", new Settings("cat-proxy"));
+		var evaluator = new SpelExpressionEvaluator(beanFactory);
+		assertEquals("cat-proxy", evaluator.evaluate("@settings.prefix"));
+		assertEquals("http://localhost:8080", evaluator.evaluate("http://localhost:8080"));
+		assertEquals("test-proxy", evaluator.evaluate("test-proxy"));
+		assertEquals("30s", evaluator.evaluate("30s"));
+		assertEquals("", evaluator.evaluate(""));
+		assertNull(evaluator.evaluate(null));
+		for (var i = 0; i < 3; i++) {
+			assertEquals("cat-proxy", evaluator.evaluate("@settings.prefix"));
+		}
+	}
+
+	public record Settings(String prefix) {
+
+		public String getPrefix() {
+			return this.prefix;
+		}
+
+	}
+
+}
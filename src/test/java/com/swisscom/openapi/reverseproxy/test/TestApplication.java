@@ -16,6 +16,10 @@
 
 package com.swisscom.openapi.reverseproxy.test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -25,10 +29,20 @@ import java.util.function.Consumer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.MappedInterceptor;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.swisscom.openapi.reverseproxy.annotation.Proxy;
@@ -37,10 +51,15 @@ import com.swisscom.openapi.reverseproxy.annotation.ProxyInterceptor;
 import com.swisscom.openapi.reverseproxy.client.ProxyClient;
 import com.swisscom.openapi.reverseproxy.test.model.Cat;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @TestPropertySource
 @SpringBootApplication(exclude = SecurityAutoConfiguration.class)
 public class TestApplication {
 
+	public static final Path RELOADING_SPECIFICATION = Path.of("target", "reload.openapi.json");
+
 	public static void main(String[] args) {
 		SpringApplication.run(TestApplication.class, args);
 	}
@@ -75,4 +94,128 @@ public class TestApplication {
 		};
 	}
 
+	@Proxy(specification = "classpath:/cats.openapi.json",
+			options = @Options(prefix = "streaming-proxy", streaming = true))
+	@Bean
+	public Object streamingCatstoreProxy() {
+		return new Object();
+	}
+
+	@Proxy(specification = "classpath:/cats.openapi.json", options = @Options(prefix = "async-proxy", async = true))
+	@Bean
+	public Object asyncCatstoreProxy() {
+		return new Object() {
+			@ProxyInterceptor(path = "/async-proxy/cats", method = RequestMethod.GET)
+			public ResponseEntity<Resource> getCats(ProxyClient proxyClient) {
+				ResponseEntity<Resource> response = proxyClient.exchange();
+				return ResponseEntity.status(response.getStatusCode())
+					.headers(response.getHeaders())
+					.header("X-Proxy-Thread", Thread.currentThread().getName())
+					.body(response.getBody());
+			}
+		};
+	}
+
+	@Proxy(specification = "classpath:/cats.openapi.json",
+			options = @Options(prefix = "fast-lane-proxy", fastLane = true))
+	@Bean
+	public Object fastLaneCatstoreProxy() {
+		return new Object();
+	}
+
+	@Proxy(specification = "classpath:/cats.openapi.json",
+			options = @Options(prefix = "guarded-fast-lane-proxy", fastLane = true))
+	@Bean
+	public Object guardedFastLaneCatstoreProxy() {
+		return new Object();
+	}
+
+	@Bean
+	public WebMvcConfigurer guardingConfigurer() {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new HandlerInterceptor() {
+					@Override
+					public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+						response.setHeader("X-Intercepted", "true");
+						return true;
+					}
+				}).addPathPatterns("/guarded-fast-lane-proxy/**");
+			}
+
+			@Override
+			public void addCorsMappings(CorsRegistry registry) {
+				registry.addMapping("/test-proxy/**").allowedOrigins("http://cats.example");
+			}
+		};
+	}
+
+	@Bean
+	public MappedInterceptor mappedInterceptor() {
+		return new MappedInterceptor(new String[] { "/test-proxy/**" }, new HandlerInterceptor() {
+			@Override
+			public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+				response.addHeader("X-Mapped", "true");
+				return true;
+			}
+		});
+	}
+
+	@Bean
+	public FilterRegistrationBean<?> filterChainEndFilter() {
+		// marks the proxy requests the fast lane filter hands on to the
+		// DispatcherServlet, but not the upstream calls whose headers are forwarded
+		var registration = new FilterRegistrationBean<>((request, response, chain) -> {
+			((HttpServletResponse) response).setHeader("X-Filter-Chain", "complete");
+			chain.doFilter(request, response);
+		});
+		registration.addUrlPatterns("/test-proxy/*", "/fast-lane-proxy/*", "/guarded-fast-lane-proxy/*");
+		registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+		return registration;
+	}
+
+	@Proxy(specification = "classpath:/cats.openapi.json", target = "http://localhost:8080",
+			options = @Options(prefix = "lazy-proxy", lazy = true))
+	@Bean
+	public Object lazyCatstoreProxy() {
+		return new Object();
+	}
+
+	@Proxy(target = "http://localhost:8080", options = @Options(prefix = "raw-proxy", rawPassThrough = true))
+	@Bean
+	public Object rawCatstoreProxy() {
+		return new Object();
+	}
+
+	@Proxy(specification = "file:target/reload.openapi.json",
+			options = @Options(prefix = "reload-proxy", reloadInterval = "100ms"))
+	@Bean
+	public Object reloadingCatstoreProxy() throws IOException {
+		// the watched copy starts out as the plain cats specification
+		try (var specification = new ClassPathResource("cats.openapi.json").getInputStream()) {
+			Files.copy(specification, RELOADING_SPECIFICATION, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return new Object();
+	}
+
+	@Proxy(specification = "http://localhost:8080/remote.openapi.json", target = "http://localhost:8080",
+			options = @Options(prefix = "remote-proxy", lazy = true, reloadInterval = "100ms"))
+	@Bean
+	public Object remoteCatstoreProxy() {
+		return new Object();
+	}
+
+	@Proxy(specification = "classpath:/cats.openapi.json", options = @Options(prefix = "caching-proxy"))
+	@Bean
+	public Object cachingCatstoreProxy() {
+		return new Object() {
+			@ProxyInterceptor(path = "/caching-proxy/cats", method = RequestMethod.GET,
+					cache = @ProxyInterceptor.Cache(ttl = "1m"))
+			public ResponseEntity<Resource> getCats(ProxyClient proxyClient) {
+				return proxyClient.exchange();
+			}
+		};
+	}
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestOperations;
+
+import com.sun.net.httpserver.HttpServer;
+import com.swisscom.openapi.reverseproxy.client.ProxyRestOperationProvider;
+import com.swisscom.openapi.reverseproxy.config.ConnectionPoolOptions;
+import com.swisscom.openapi.reverseproxy.util.VirtualThreads;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Tag("benchmark")
+public class VirtualThreadsBenchmarkTests {
+
+	static final int REQUESTS = 2000;
+
+	static final int PLATFORM_THREADS = 200;
+
+	static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+
+	HttpServer upstream;
+
+	ExecutorService upstreamExecutor;
+
+	ProxyRestOperationProvider restOperationsProvider = new ProxyRestOperationProvider(Optional.empty());
+
+	RestOperations restOperations;
+
+	@BeforeEach
+	void startUpstream() throws IOException {
+		this.upstreamExecutor = VirtualThreads.newTaskExecutor("upstream-", true);
+		this.upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+		this.upstream.setExecutor(this.upstreamExecutor);
+		this.upstream.createContext("/slow", (exchange) -> {
+			try {
+				Thread.sleep(UPSTREAM_LATENCY.toMillis());
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			var body = "ok".getBytes();
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		this.upstream.start();
+		this.restOperations = this.restOperationsProvider.getRestOperations(
+				"http://localhost:" + this.upstream.getAddress().getPort(),
+				new ConnectionPoolOptions(REQUESTS, REQUESTS, Duration.ofSeconds(5), Duration.ofSeconds(30),
+						Duration.ofSeconds(30), Duration.ofSeconds(30), null));
+	}
+
+	@AfterEach
+	void stopUpstream() throws IOException {
+		this.restOperationsProvider.destroy();
+		this.upstream.stop(0);
+		this.upstreamExecutor.shutdownNow();
+	}
+
+	@Test
+	void benchmarkConcurrencyScaling() throws InterruptedException, ExecutionException {
+		assumeTrue(VirtualThreads.isSupported(), "virtual threads require Java 21");
+		var platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS));
+		var virtual = run(VirtualThreads.newTaskExecutor("proxy-task-", true));
+		log.info("{} exchanges against a {} ms upstream: {} platform threads {} ms, virtual threads {} ms", REQUESTS,
+				UPSTREAM_LATENCY.toMillis(), PLATFORM_THREADS, platform.toMillis(), virtual.toMillis());
+		assertTrue(virtual.compareTo(platform) < 0);
+	}
+
+	Duration run(ExecutorService executor) throws InterruptedException, ExecutionException {
+		try {
+			var start = System.nanoTime();
+			var futures = new ArrayList<Future<String>>();
+			for (var i = 0; i < REQUESTS; i++) {
+				futures.add(executor.submit(() -> this.restOperations.getForObject("/slow", String.class)));
+			}
+			for (var future : futures) {
+				assertEquals("ok", future.get());
+			}
+			return Duration.ofNanos(System.nanoTime() - start);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
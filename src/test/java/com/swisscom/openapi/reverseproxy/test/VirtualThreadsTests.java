@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2099 Swisscom (Schweiz) AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swisscom.openapi.reverseproxy.test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.swisscom.openapi.reverseproxy.util.VirtualThreads;
+
+public class VirtualThreadsTests {
+
+	@Test
+	void testSaturatedPlatformExecutor() {
+		var executor = VirtualThreads.newTaskExecutor("bounded-", false, 1, 1);
+		var release = new CountDownLatch(1);
+		try {
+			Runnable blocked = () -> {
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			};
+			executor.execute(blocked);
+			executor.execute(blocked);
+			// one running, one queued: the pool does not grow past its bounds
+			assertThrows(RejectedExecutionException.class, () -> executor.execute(blocked));
+		}
+		finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -17,18 +17,28 @@
 package com.swisscom.openapi.reverseproxy.test.contoller;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.swisscom.openapi.reverseproxy.test.model.Cat;
 
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 @RequiredArgsConstructor
 @RestController
@@ -36,11 +46,20 @@ public class TestController {
 
 	private List<Cat> catStore;
 
+	@Getter
+	@Setter
+	private volatile String specification;
+
+	@Getter
+	private final AtomicInteger notModifiedSpecifications = new AtomicInteger();
+
 	{
 		try {
 			this.catStore = new ObjectMapper().readValue(getClass().getResourceAsStream("/cats.json"),
 					new TypeReference<List<Cat>>() {
 					});
+			this.specification = StreamUtils.copyToString(getClass().getResourceAsStream("/cats.openapi.json"),
+					StandardCharsets.UTF_8);
 		}
 		catch (IOException ex) {
 			throw new IllegalArgumentException(ex);
@@ -57,4 +76,20 @@ public class TestController {
 		this.catStore.addAll(cats);
 	}
 
+	@GetMapping("/remote.openapi.json")
+	public ResponseEntity<String> getSpecification(WebRequest request) {
+		var entityTag = "\"" + DigestUtils.md5DigestAsHex(this.specification.getBytes(StandardCharsets.UTF_8)) + "\"";
+		if (request.checkNotModified(entityTag)) {
+			this.notModifiedSpecifications.incrementAndGet();
+			return null;
+		}
+		return ResponseEntity.ok().eTag(entityTag).contentType(MediaType.APPLICATION_JSON).body(this.specification);
+	}
+
+	@PostMapping("/echo")
+	public String echo(HttpServletRequest request) throws IOException {
+		return request.getQueryString() + "|"
+				+ StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+	}
+
 }